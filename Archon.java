@@ -0,0 +1,88 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+import static BasicExample.RobotPlayer.*;
+
+// This class controls our Archons.
+// Archons build whatever unit BuildPlanner says the army needs most.  Otherwise they collect the parts and
+// activate the neutral robots Harvester points them at, and move randomly when there is nothing worth getting.
+// When a zombie wave is about to spawn they build guards if they can and otherwise move away from nearby dens.
+public class Archon {
+
+    // This method is where we control our archons
+    public static void run() throws Exception {
+        // keep up with the parts and neutrals scouts report, the targets other Archons claim and what they have built
+        Harvester.readMessages();
+        BuildPlanner.readMessages();
+        // call our fighters in if we are under attack
+        Rally.callForHelp();
+        // bring the robot we built last up to date once it can hear us, and pass on anything new we have seen
+        Knowledge.sendSnapshotIfDue();
+        Knowledge.publish(0);
+        BuildPlanner.publishArmy();
+        // plan a corridor through the rubble towards where the army is going for our idle units to dig out
+        Corridor.plan();
+
+        // if we can't move or build then don't do anything
+        if (!rc.isCoreReady()) return;
+
+        // get out of range of anything that can hit us before we do anything else
+        if (Micro.reposition()) return;
+
+        // Build units
+        if (buildUnits());
+            // If we don't build try to move
+        else if (moveArchon());
+    }
+
+    // This method is called by Archons to build units
+    // it returns true if a unit is built and false otherwise
+    public static boolean buildUnits() throws Exception {
+        // TODO: if we are being chased by a bunch of zombies it may be better to run than trying to build units???
+
+        // the planner weighs the round, our parts, the hostiles in view and what we have built so far
+        RobotType typeToBuild = BuildPlanner.chooseUnit();
+
+        // if we don't have the parts yet we are either saving up or there is nothing we can afford
+        if (typeToBuild == null || !rc.hasBuildRequirements(typeToBuild)) return false;
+
+        Direction dirToBuild = BuildPlanner.buildDirection(typeToBuild);
+        if (dirToBuild == null) return false;
+
+        rc.build(dirToBuild, typeToBuild);
+        if (Trace.ENABLED) Trace.note(Trace.BUILD, rc.getLocation().add(dirToBuild));
+        BuildPlanner.recordBuilt(typeToBuild);
+        Knowledge.scheduleSnapshot(typeToBuild);
+        return true;
+    }
+
+    // This function handles movement for Archons
+    public static boolean moveArchon() throws Exception {
+        // get away from any den that is about to spawn a wave
+        MapLocation evade = ZombieForecast.evadeWave();
+        if (evade != null) {
+            currentTarget = evade;
+            return travel();
+        }
+
+        // go after the best parts pile or neutral robot we know about, activating neutrals once we are next to them
+        MapLocation harvest = Harvester.chooseTarget();
+        if (harvest != null) {
+            if (Harvester.tryActivate()) return true;
+            currentTarget = harvest;
+            return travel();
+        }
+
+        // TODO: don't pick a random direction, cluster Archons for defense? Spread out to find rss?  Go to corner for safety?
+        //       Charge the enemy b/c fortune favors the bold??  Just randomly do something not random!!!! :p
+        // only change the direction WANDER_CHANCE of the time to widen our range
+        if (rand.nextDouble() < WANDER_CHANCE || currentDirection == null) {
+            currentDirection = directions[rand.nextInt(8)];
+        }
+
+        // try to move in the direction we randomly picked
+        currentTarget = null;
+        return travel();
+    }
+}
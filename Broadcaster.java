@@ -0,0 +1,243 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class plans our message signals so that we only pay for the range we actually need.
+//
+// Every message signal adds core and weapon delay, and the delay grows with the radius once it goes past
+// BROADCAST_RANGE_MULTIPLIER times our sensor radius.  It also lands in the signal queue of every robot in range,
+// enemies and allies alike, who then have to spend bytecodes reading it.  So instead of picking a radius at random
+//   - callers queue messages here during their turn and flush() sends them all at the end of it
+//   - each message gets the smallest radius that covers the allies we know about, or the region the caller asked
+//     for, and never less than the range that costs nothing extra
+//   - the same message (same type, location, aux and payload) is not repeated within REPEAT_SPACING rounds
+//   - at most MAX_PER_TURN messages go out per turn, the rest wait for the next turn, urgent ones go first
+//
+// We learn where allies are from the location attached to every signal they send us, basic or message.
+// Allies we can sense are always inside the free range so we don't need to track them.
+public class Broadcaster {
+
+    // the most messages waiting to be sent, anything past this is dropped
+    public static final int MAX_PENDING = 16;
+    // the most messages we send in one turn
+    public static final int MAX_PER_TURN = 3;
+    // rounds before an unchanged message may be sent again
+    public static final int REPEAT_SPACING = 30;
+    // how many recently sent messages we remember for the repeat check
+    public static final int MAX_HISTORY = 32;
+    // how many allies we remember the last known location of
+    public static final int MAX_ALLIES = 32;
+    // allies we haven't heard from in this many rounds are forgotten
+    public static final int ALLY_MAX_AGE = 20;
+    // how far we assume an ally may have moved per round since we heard from it
+    public static final double ALLY_DRIFT = 0.5;
+    // the biggest radius worth using, corner to corner of the largest map
+    public static final int MAX_RADIUS_SQUARED = GameConstants.MAP_MAX_WIDTH * GameConstants.MAP_MAX_WIDTH
+            + GameConstants.MAP_MAX_HEIGHT * GameConstants.MAP_MAX_HEIGHT;
+
+    // messages waiting for flush(), reach is the radius squared the caller asked for on top of the ally coverage
+    private static int[] pendingType = new int[MAX_PENDING];
+    private static MapLocation[] pendingLocation = new MapLocation[MAX_PENDING];
+    private static int[] pendingAux = new int[MAX_PENDING];
+    private static int[] pendingPayload = new int[MAX_PENDING];
+    private static int[] pendingReach = new int[MAX_PENDING];
+    public static int pendingCount = 0;
+
+    // a ring of recently sent messages, key is the type and location and value is the aux and payload
+    private static int[] historyKey = new int[MAX_HISTORY];
+    private static int[] historyValue = new int[MAX_HISTORY];
+    private static int[] historyRound = new int[MAX_HISTORY];
+    private static int historyNext = 0;
+
+    // the last place and round we heard from each ally
+    private static int[] allyId = new int[MAX_ALLIES];
+    private static int[] allyX = new int[MAX_ALLIES];
+    private static int[] allyY = new int[MAX_ALLIES];
+    private static int[] allyRound = new int[MAX_ALLIES];
+    private static int allyCount = 0;
+
+    // the middle of our team's starting archons, where new units come from
+    private static MapLocation home;
+
+    /////////////////////////////// Queueing ////////////////////////////////////////////
+
+    // This method queues a message for the allies we know about, it returns false if it was dropped
+    public static boolean queue(int type, MapLocation loc, int aux, int payload) {
+        return queueTo(type, loc, aux, payload, 0);
+    }
+
+    // This method queues a message that must reach at least radiusSquared from us, it returns false if the same
+    // message went out recently or the queue is full
+    public static boolean queueTo(int type, MapLocation loc, int aux, int payload, int radiusSquared) {
+        int round = RobotPlayer.rc.getRoundNum();
+        int key = keyOf(type, loc);
+        int value = (aux << 16) | (payload & 0xFFFF);
+
+        // skip anything we already said recently
+        for (int i = MAX_HISTORY; --i >= 0; ) {
+            if (historyKey[i] == key && historyValue[i] == value && round - historyRound[i] < REPEAT_SPACING) {
+                return false;
+            }
+        }
+
+        // merge with a message about the same thing that is still waiting, the newest information wins
+        for (int i = pendingCount; --i >= 0; ) {
+            if (pendingType[i] == type && pendingLocation[i].equals(loc)) {
+                pendingAux[i] = aux;
+                pendingPayload[i] = payload;
+                if (radiusSquared > pendingReach[i]) pendingReach[i] = radiusSquared;
+                return true;
+            }
+        }
+
+        if (pendingCount >= MAX_PENDING) return false;
+        int i = pendingCount++;
+        pendingType[i] = type;
+        pendingLocation[i] = loc;
+        pendingAux[i] = aux;
+        pendingPayload[i] = payload;
+        pendingReach[i] = radiusSquared;
+        return true;
+    }
+
+    // This method returns true if there is no room left in the queue, so a caller can tell a message that was
+    // dropped from one that went out recently when queueTo() returns false
+    public static boolean isFull() {
+        return pendingCount >= MAX_PENDING;
+    }
+
+    // This method puts a message at the front of the queue so it goes out this turn.  Urgent messages skip the repeat
+    // check, the caller decides how often they are worth sending.
+    public static void queueUrgent(int type, MapLocation loc, int aux, int payload, int radiusSquared) {
+        // make room at the front, dropping the last message if the queue is full
+        int last = pendingCount < MAX_PENDING ? pendingCount++ : MAX_PENDING - 1;
+        for (int i = last; i > 0; i--) {
+            pendingType[i] = pendingType[i - 1];
+            pendingLocation[i] = pendingLocation[i - 1];
+            pendingAux[i] = pendingAux[i - 1];
+            pendingPayload[i] = pendingPayload[i - 1];
+            pendingReach[i] = pendingReach[i - 1];
+        }
+        pendingType[0] = type;
+        pendingLocation[0] = loc;
+        pendingAux[0] = aux;
+        pendingPayload[0] = payload;
+        pendingReach[0] = radiusSquared;
+    }
+
+    // This method sends up to MAX_PER_TURN queued messages and keeps the rest for next turn.
+    // It returns the number of messages sent.
+    public static int flush() throws Exception {
+        if (pendingCount == 0) return 0;
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        int allies = alliesRadiusSquared();
+
+        int sent = 0;
+        int limit = Math.min(MAX_PER_TURN, pendingCount);
+        while (sent < limit) {
+            int radiusSquared = Math.min(MAX_RADIUS_SQUARED, Math.max(allies, pendingReach[sent]));
+            Messaging.send(pendingType[sent], pendingLocation[sent], pendingAux[sent], pendingPayload[sent],
+                    radiusSquared);
+
+            historyKey[historyNext] = keyOf(pendingType[sent], pendingLocation[sent]);
+            historyValue[historyNext] = (pendingAux[sent] << 16) | (pendingPayload[sent] & 0xFFFF);
+            historyRound[historyNext] = round;
+            historyNext = (historyNext + 1) % MAX_HISTORY;
+            sent++;
+        }
+
+        // move whatever is left to the front of the queue
+        int left = pendingCount - sent;
+        for (int i = 0; i < left; i++) {
+            pendingType[i] = pendingType[i + sent];
+            pendingLocation[i] = pendingLocation[i + sent];
+            pendingAux[i] = pendingAux[i + sent];
+            pendingPayload[i] = pendingPayload[i + sent];
+            pendingReach[i] = pendingReach[i + sent];
+        }
+        pendingCount = left;
+        return sent;
+    }
+
+    /////////////////////////////// Sizing //////////////////////////////////////////////
+
+    // This method returns the smallest radius squared that reaches every ally we have heard from recently,
+    // allowing for how far they may have moved since.  It never returns less than the free range.
+    public static int alliesRadiusSquared() {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int round = rc.getRoundNum();
+        int best = freeRadiusSquared();
+
+        for (int i = allyCount; --i >= 0; ) {
+            int age = round - allyRound[i];
+            if (age > ALLY_MAX_AGE) {
+                // forget this ally by moving the last one into its slot
+                allyCount--;
+                allyId[i] = allyId[allyCount];
+                allyX[i] = allyX[allyCount];
+                allyY[i] = allyY[allyCount];
+                allyRound[i] = allyRound[allyCount];
+                continue;
+            }
+            int dx = allyX[i] - here.x;
+            int dy = allyY[i] - here.y;
+            double reach = Math.sqrt(dx * dx + dy * dy) + age * ALLY_DRIFT;
+            int radiusSquared = (int) Math.ceil(reach * reach);
+            if (radiusSquared > best) best = radiusSquared;
+        }
+        return Math.min(best, MAX_RADIUS_SQUARED);
+    }
+
+    // This method returns the radius squared needed to cover a whole region around center
+    public static int regionRadiusSquared(MapLocation center, int regionRadiusSquared) {
+        double reach = Math.sqrt(RobotPlayer.rc.getLocation().distanceSquaredTo(center)) + Math.sqrt(regionRadiusSquared);
+        return Math.min((int) Math.ceil(reach * reach), MAX_RADIUS_SQUARED);
+    }
+
+    // This method returns the largest radius squared that costs no more delay than the smallest one
+    public static int freeRadiusSquared() {
+        return GameConstants.BROADCAST_RANGE_MULTIPLIER * RobotPlayer.rc.getType().sensorRadiusSquared;
+    }
+
+    // This method returns the middle of our team's starting archons
+    public static MapLocation home() {
+        if (home == null) {
+            MapLocation[] archons = Tables.ourArchons;
+            int x = 0;
+            int y = 0;
+            for (int i = archons.length; --i >= 0; ) {
+                x += archons[i].x;
+                y += archons[i].y;
+            }
+            home = new MapLocation(x / archons.length, y / archons.length);
+        }
+        return home;
+    }
+
+    /////////////////////////////// Allies //////////////////////////////////////////////
+
+    // This method records where an ally was when it sent us a signal, Messaging calls it for every signal from
+    // our team
+    public static void noteAlly(int id, MapLocation loc, int round) {
+        int slot = -1;
+        int oldest = 0;
+        for (int i = allyCount; --i >= 0; ) {
+            if (allyId[i] == id) {
+                slot = i;
+                break;
+            }
+            if (allyRound[i] < allyRound[oldest]) oldest = i;
+        }
+        if (slot < 0) slot = allyCount < MAX_ALLIES ? allyCount++ : oldest;
+        allyId[slot] = id;
+        allyX[slot] = loc.x;
+        allyY[slot] = loc.y;
+        allyRound[slot] = round;
+    }
+
+    private static int keyOf(int type, MapLocation loc) {
+        return (type << 16) | (((loc.x - Messaging.originX) & 0xFF) << 8) | ((loc.y - Messaging.originY) & 0xFF);
+    }
+}
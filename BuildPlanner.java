@@ -0,0 +1,251 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class decides what an Archon should build next and where.
+//
+// Instead of cycling a fixed build order it looks at
+//   - the round number, which picks a target army composition (cheap fighters early, vipers and turrets later)
+//   - what every Archon has built so far, so it builds whatever the whole army is most short of
+//   - the hostiles in view, which call for guards against zombies and soldiers against the enemy
+//   - our parts, so an unaffordable unit only holds up building if we will afford it soon, otherwise we build the
+//     best unit we can afford right now
+// Each Archon tells the others what it has built with an ARMY message whenever its counts change, and again every
+// ARMY_REFRESH_ROUNDS in case one went missing.  The counts are totals so the latest message replaces the last:
+//
+//     header aux: [ soldiers : 7 ][ guards : 7 ]
+//     payload:    [ scouts : 4 ][ vipers : 6 ][ turrets : 6 ]
+//
+// each capped at the most its bits can hold, which is far more than any one Archon builds of the rarer types.
+// Build directions come from a mask of free neighbouring tiles.  The terrain part of the mask (map edges and
+// rubble) is only rebuilt when we move, each turn we just knock out the tiles other robots are standing on.
+public class BuildPlanner {
+
+    // the types we choose between, in the same order as the columns of the composition tables
+    public static final RobotType[] BUILDABLE = {RobotType.SCOUT, RobotType.SOLDIER, RobotType.GUARD, RobotType.VIPER,
+            RobotType.TURRET};
+
+    // the share of the army we want of each buildable type
+    //                                            scout  soldier  guard  viper  turret
+    public static final double[] EARLY_ARMY =    {0.10,  0.50,    0.30,  0.00,  0.10};
+    public static final double[] MID_ARMY =      {0.05,  0.40,    0.15,  0.15,  0.25};
+    public static final double[] LATE_ARMY =     {0.05,  0.30,    0.10,  0.20,  0.35};
+    // the rounds the mid and late compositions start on
+    public static final int MID_GAME_ROUND = (int) Params.values[Params.MID_GAME_ROUND];
+    public static final int LATE_GAME_ROUND = 1200;
+    // more scouts than this per Archon is a waste
+    public static final int MAX_SCOUTS = 2;
+
+    // how much hostiles in view raise the need for each type
+    //                                              scout  soldier  guard  viper  turret
+    public static final double[] ZOMBIE_THREAT =   {0,     0.20,    0.30,  0,     0.10};
+    public static final double[] ENEMY_THREAT =    {0,     0.30,    0.05,  0.10,  0.10};
+
+    // we wait for a unit we can't afford yet if we will have the parts within this many turns
+    public static final int RESERVE_WAIT_TURNS = (int) Params.values[Params.RESERVE_WAIT_TURNS];
+    // how often the terrain mask is rebuilt even if we haven't moved, rubble changes as units dig and die
+    public static final int TERRAIN_REFRESH_ROUNDS = 20;
+
+    // how often an Archon repeats its ARMY counts even if they haven't changed
+    public static final int ARMY_REFRESH_ROUNDS = 50;
+    // the most other Archons we keep counts for
+    public static final int MAX_ARCHONS = 8;
+
+    // how many of each buildable type this Archon has built
+    public static int[] built = new int[BUILDABLE.length];
+    public static int totalBuilt = 0;
+    // how many of each buildable type the other Archons have built, from their ARMY messages, indexed by
+    // slot * BUILDABLE.length + type
+    private static int[] archonId = new int[MAX_ARCHONS];
+    private static int[] archonBuilt = new int[MAX_ARCHONS * BUILDABLE.length];
+    private static int archonCount = 0;
+    // the whole army's counts, ours plus everyone else's
+    private static int[] armyBuilt = new int[BUILDABLE.length];
+    // whether our counts changed since we last sent them, and when we last sent them
+    private static boolean armyDirty = false;
+    private static int armySentRound = -1000;
+
+    // bit d is set if the tile in directions[d] is on the map and not blocked by rubble
+    private static int terrainMask = 0;
+    private static MapLocation terrainLocation;
+    private static int terrainRound = -1000;
+
+    // This method picks the unit we should build next, it may return a type we can't afford yet if it is worth
+    // saving up for, or null if there is nothing worth building
+    public static RobotType chooseUnit() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        double[] army = round < MID_GAME_ROUND ? EARLY_ARMY : round < LATE_GAME_ROUND ? MID_ARMY : LATE_ARMY;
+        // a big wave about to spawn counts as zombies near, there will be soon
+        boolean zombiesNear = RobotPlayer.zombieCount > RobotPlayer.zombieDenCount
+                || ZombieForecast.bigWaveNext() && ZombieForecast.waveImminent();
+        boolean enemiesNear = RobotPlayer.enemyCount > 0;
+        int parts = rc.getTeamParts();
+
+        // the type the army needs most, and the one it needs most that we can afford right now
+        int best = -1;
+        double bestNeed = -100;
+        int bestAffordable = -1;
+        double bestAffordableNeed = -100;
+        int total = 1;
+        for (int i = BUILDABLE.length; --i >= 0; ) {
+            int count = built[i];
+            for (int a = archonCount; --a >= 0; ) {
+                count += archonBuilt[a * BUILDABLE.length + i];
+            }
+            armyBuilt[i] = count;
+            total += count;
+        }
+
+        for (int i = BUILDABLE.length; --i >= 0; ) {
+            if (i == 0 && built[0] >= MAX_SCOUTS) continue;
+            double need = army[i] - (double) armyBuilt[i] / total;
+            if (zombiesNear) need += ZOMBIE_THREAT[i];
+            if (enemiesNear) need += ENEMY_THREAT[i];
+            if (need > bestNeed) {
+                bestNeed = need;
+                best = i;
+            }
+            if (BUILDABLE[i].partCost <= parts && need > bestAffordableNeed) {
+                bestAffordableNeed = need;
+                bestAffordable = i;
+            }
+        }
+        if (best < 0) return null;
+
+        // save up for the unit we want most if it won't take long, otherwise build what we can
+        if (bestAffordable != best && turnsToAfford(BUILDABLE[best]) > RESERVE_WAIT_TURNS && bestAffordable >= 0) {
+            return BUILDABLE[bestAffordable];
+        }
+        return BUILDABLE[best];
+    }
+
+    // This method estimates how many turns until our team has enough parts for a type
+    public static int turnsToAfford(RobotType type) {
+        RobotController rc = RobotPlayer.rc;
+        int missing = type.partCost - rc.getTeamParts();
+        if (missing <= 0) return 0;
+        double income = GameConstants.ARCHON_PART_INCOME - GameConstants.PART_INCOME_UNIT_PENALTY * rc.getRobotCount();
+        if (income <= 0) return Integer.MAX_VALUE;
+        return (int) Math.ceil(missing / income);
+    }
+
+    // This method records that we built a unit
+    public static void recordBuilt(RobotType type) {
+        for (int i = BUILDABLE.length; --i >= 0; ) {
+            if (BUILDABLE[i] == type) {
+                built[i]++;
+                totalBuilt++;
+                armyDirty = true;
+                return;
+            }
+        }
+    }
+
+    /////////////////////////////// Sharing counts ////////////////////////////////////////////
+
+    // This method queues our counts for the other Archons if they changed or it is time to repeat them, Archons
+    // call it every turn
+    public static void publishArmy() {
+        int round = RobotPlayer.rc.getRoundNum();
+        if (!armyDirty && round - armySentRound < ARMY_REFRESH_ROUNDS) return;
+        if (totalBuilt == 0) return;
+        int aux = (Math.min(built[1], 127) << 7) | Math.min(built[2], 127);
+        int payload = (Math.min(built[0], 15) << 12) | (Math.min(built[3], 63) << 6) | Math.min(built[4], 63);
+        if (Broadcaster.queue(Messaging.ARMY, RobotPlayer.rc.getLocation(), aux, payload) || !Broadcaster.isFull()) {
+            armyDirty = false;
+            armySentRound = round;
+        }
+    }
+
+    // This method records the counts other Archons sent this turn
+    public static void readMessages() {
+        if (Messaging.receivedCount[Messaging.ARMY] == 0) return;
+        int me = RobotPlayer.rc.getID();
+        for (int m = Messaging.inboxCount; --m >= 0; ) {
+            if (Messaging.typeOf(Messaging.inboxHeader[m]) != Messaging.ARMY) continue;
+            int sender = Messaging.inboxSender[m];
+            if (sender == me) continue;
+            int slot = -1;
+            for (int a = archonCount; --a >= 0; ) {
+                if (archonId[a] == sender) {
+                    slot = a;
+                    break;
+                }
+            }
+            if (slot < 0) {
+                if (archonCount >= MAX_ARCHONS) continue;
+                slot = archonCount++;
+                archonId[slot] = sender;
+            }
+            int aux = Messaging.auxOf(Messaging.inboxHeader[m]);
+            int payload = Messaging.payloadOf(Messaging.inboxBody[m]);
+            int at = slot * BUILDABLE.length;
+            archonBuilt[at] = payload >>> 12;
+            archonBuilt[at + 1] = aux >>> 7;
+            archonBuilt[at + 2] = aux & 0x7F;
+            archonBuilt[at + 3] = (payload >>> 6) & 0x3F;
+            archonBuilt[at + 4] = payload & 0x3F;
+        }
+    }
+
+    // This method returns the direction to build in, preferring directions away from hostiles, or null if we are
+    // surrounded
+    public static Direction buildDirection(RobotType type) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int mask = freeMask(here);
+        if (mask == 0) return null;
+
+        // start looking behind us if there are hostiles around, otherwise anywhere
+        int start;
+        RobotInfo threat = RobotPlayer.enemyCount > 0 ? RobotPlayer.enemies[0]
+                : RobotPlayer.zombieCount > 0 ? RobotPlayer.zombies[0] : null;
+        if (threat != null) start = threat.location.directionTo(here).ordinal();
+        else start = RobotPlayer.rand.nextInt(8);
+
+        // try the free directions closest to start first, alternating left and right
+        for (int i = 0; i < 8; i++) {
+            int d = (start + ((i & 1) == 0 ? i >> 1 : 8 - ((i + 1) >> 1))) & 7;
+            if ((mask & (1 << d)) == 0) continue;
+            Direction dir = RobotPlayer.directions[d];
+            // the mask can be out of date so the engine has the final say
+            if (rc.canBuild(dir, type)) return dir;
+        }
+        return null;
+    }
+
+    // This method returns a bit mask of the neighbouring tiles we could build on this turn
+    private static int freeMask(MapLocation here) {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        if (!here.equals(terrainLocation) || round - terrainRound > TERRAIN_REFRESH_ROUNDS) {
+            terrainMask = 0;
+            for (int d = 8; --d >= 0; ) {
+                int x = here.x + Tables.DX[d];
+                int y = here.y + Tables.DY[d];
+                if (MapMemory.onMap(x, y)
+                        && rc.senseRubble(MapMemory.location(x, y)) < GameConstants.RUBBLE_OBSTRUCTION_THRESH) {
+                    terrainMask |= 1 << d;
+                }
+            }
+            terrainLocation = here;
+            terrainRound = round;
+        }
+
+        // knock out the tiles robots are standing on, the sensing cache already has them unless we have moved
+        // since it was filled
+        int mask = terrainMask;
+        RobotInfo[] adjacent = RobotPlayer.adjacent;
+        int adjacentCount = RobotPlayer.adjacentCount;
+        if (!here.equals(RobotPlayer.sensedLocation)) {
+            adjacent = rc.senseNearbyRobots(2);
+            adjacentCount = adjacent.length;
+        }
+        for (int i = adjacentCount; --i >= 0; ) {
+            MapLocation loc = adjacent[i].location;
+            mask &= ~(1 << Tables.offsetDirection(loc.x - here.x, loc.y - here.y).ordinal());
+        }
+        return mask;
+    }
+}
@@ -0,0 +1,28 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class is the one place we read the bytecode counter from.
+//
+// In a real match it just asks Clock.  The offline harness can't use Clock because it only works inside the game
+// engine, so it sets simulated to true and hands us a counter that its stand-in RobotController adds the cost of
+// every API call to.
+public class Bytecodes {
+
+    // true when we are running inside the offline harness
+    public static boolean simulated = false;
+    // the harness keeps the bytecodes used this turn in simulatedCounter[0]
+    public static int[] simulatedCounter;
+
+    // This method returns the bytecodes we have used so far this turn
+    public static int used() {
+        if (simulated) return simulatedCounter[0];
+        return Clock.getBytecodeNum();
+    }
+
+    // This method returns the bytecodes we have left this turn
+    public static int left() {
+        if (simulated) return RobotPlayer.rc.getType().bytecodeLimit - simulatedCounter[0];
+        return Clock.getBytecodesLeft();
+    }
+}
@@ -0,0 +1,329 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class opens corridors through rubble towards where our army is going, with the digging shared out between
+// idle units instead of every unit digging whatever happens to be in front of it.
+//
+//   - Every PLAN_ROUNDS rounds Archons and scouts plan a corridor with spare bytecodes.  Starting where they stand
+//     (scouts start from home, where the army sets out from) they walk towards the target (the nearest enemy archon
+//     we know of, else the nearest den, else the enemy's starting archons), at each step taking the cheapest of the
+//     three tiles ahead by the rubble they remember.  Every tile on the way that blocks movement but can be dug
+//     through in MAX_TILE_TURNS is work, and each one is broadcast as a CORRIDOR message with the turns it needs as
+//     the payload.  Archons only know the rubble around them, scouts have seen much more of the map.
+//   - Soldiers and guards with nothing better to do take the nearest work tile nobody has claimed, go next to it and
+//     dig.  They can't send messages, so a claim is a basic signal sent while digging: every work tile next to
+//     whoever sent it counts as claimed by them until CLAIM_TTL rounds after we last heard it.  Diggers signal again
+//     every CLAIM_RENEW rounds, so a unit that dies stops renewing and its tiles go back up for grabs.  A unit
+//     heading for a tile somebody starts digging picks another one, and if two units start digging the same tile
+//     at once the lower id keeps it.
+//   - Once a tile is clear it drops out of the tables of everybody who sees it, and the next corridor planned
+//     through it no longer lists it.
+// So every work tile has one digger and a corridor's tiles are dug in parallel.  Tiles next to each other can't be
+// told apart by a basic signal so one digger claims them all, but a corridor through a thick wall has to be dug from
+// one end anyway.
+public class Corridor {
+
+    // how often Archons and scouts plan a corridor
+    public static final int PLAN_ROUNDS = 40;
+    // the longest corridor we plan, in tiles
+    public static final int MAX_LENGTH = 40;
+    // steps of the corridor walked per Scheduler step
+    public static final int STEPS_PER_STEP = 8;
+    // rubble that takes longer than this to dig through is left alone, the corridor goes around it or stops
+    public static final int MAX_TILE_TURNS = 25;
+    // the most work tiles in one corridor and the most a unit remembers
+    public static final int MAX_TILES = 16;
+    // claims run out this many rounds after they were made, and diggers renew them this often
+    public static final int CLAIM_TTL = 30;
+    public static final int CLAIM_RENEW = 10;
+    // how far our claims reach, far enough for units heading to the same tile to hear before they get there
+    public static final int CLAIM_RADIUS_SQUARED = 100;
+    // units don't take work further away than this many moves
+    public static final int MAX_JOB_DISTANCE = 20;
+    // tiles nobody has published or claimed for this long are forgotten, planners publish them again while they
+    // still need digging
+    public static final int FORGET_ROUNDS = 2 * PLAN_ROUNDS;
+
+    // the work tiles we know about, claimer is the robot id digging the tile or 0, expiry the round its claim runs
+    // out and heard the last round anybody told us about it
+    public static int[] tileX = new int[MAX_TILES];
+    public static int[] tileY = new int[MAX_TILES];
+    public static int[] tileTurns = new int[MAX_TILES];
+    public static int[] tileClaimer = new int[MAX_TILES];
+    public static int[] tileExpiry = new int[MAX_TILES];
+    public static int[] tileHeard = new int[MAX_TILES];
+    public static int tileCount = 0;
+
+    // the tile we are digging, null if we have no job, and when we last signalled our claim on it
+    private static MapLocation job;
+    private static int renewedRound = -1000;
+
+    // planning state
+    private static int plannedRound = -1000;
+    private static MapLocation planTarget;
+    private static int planX;
+    private static int planY;
+    private static int planSteps;
+    private static int[] planWorkX = new int[MAX_TILES];
+    private static int[] planWorkY = new int[MAX_TILES];
+    private static int[] planWorkTurns = new int[MAX_TILES];
+    private static int planWorkCount;
+
+    // walking the corridor means reading a lot of remembered rubble so it is done as spare work
+    private static Task planTask = new Task(STEPS_PER_STEP * 200) {
+        public boolean step() throws Exception {
+            return planStep();
+        }
+    };
+
+    /////////////////////////////// Planning (Archons and scouts) ////////////////////////////////////////////
+
+    // This method starts planning a corridor if it is time, Archons and scouts call it every turn
+    public static void plan() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        if (round - plannedRound < PLAN_ROUNDS || Scheduler.isQueued(planTask)) return;
+
+        MapLocation target = Knowledge.nearest(Messaging.ENEMY_ARCHON, Knowledge.ENEMY_ARCHON_TTL);
+        if (target == null) target = Knowledge.nearest(Messaging.ZOMBIE_DEN, 0);
+        if (target == null) target = nearestStartingArchon(rc.getLocation());
+        if (target == null) return;
+
+        MapLocation here = rc.getType() == RobotType.SCOUT ? Broadcaster.home() : rc.getLocation();
+        plannedRound = round;
+        planTarget = target;
+        planX = here.x;
+        planY = here.y;
+        planSteps = 0;
+        planWorkCount = 0;
+        Scheduler.add(planTask);
+    }
+
+    // This method walks a few more tiles of the corridor, it returns true if there is more to walk
+    private static boolean planStep() {
+        MapLocation target = planTarget;
+        for (int n = STEPS_PER_STEP; --n >= 0; ) {
+            int dx = target.x - planX;
+            int dy = target.y - planY;
+            if (planSteps >= MAX_LENGTH || Math.max(Math.abs(dx), Math.abs(dy)) <= 1 || planWorkCount >= MAX_TILES) {
+                return publishPlan();
+            }
+            planSteps++;
+
+            // the tile straight ahead and the two 45 degrees either side of it, the cheapest one wins and straight
+            // ahead wins ties
+            int d = MapMemory.location(planX, planY).directionTo(target).ordinal();
+            int bestX = 0;
+            int bestY = 0;
+            int bestCost = Integer.MAX_VALUE;
+            int bestTurns = 0;
+            for (int i = 0; i < 3; i++) {
+                int direction = Tables.PROBE_DIRECTIONS[d][i].ordinal();
+                int x = planX + Tables.DX[direction];
+                int y = planY + Tables.DY[direction];
+                if (!MapMemory.onMap(x, y)) continue;
+                // tiles we have never seen count as open
+                int rubble = MapMemory.rubbleAt(x, y);
+                int turns = rubble < GameConstants.RUBBLE_OBSTRUCTION_THRESH ? 0
+                        : Navigation.clearTurns(rubble, MAX_TILE_TURNS);
+                if (turns > MAX_TILE_TURNS) continue;
+                int cost = 1 + turns + (rubble >= GameConstants.RUBBLE_SLOW_THRESH ? 1 : 0);
+                if (cost < bestCost) {
+                    bestCost = cost;
+                    bestX = x;
+                    bestY = y;
+                    bestTurns = turns;
+                }
+            }
+            // walled off, the corridor ends here
+            if (bestCost == Integer.MAX_VALUE) return publishPlan();
+
+            planX = bestX;
+            planY = bestY;
+            if (bestTurns > 0) {
+                planWorkX[planWorkCount] = bestX;
+                planWorkY[planWorkCount] = bestY;
+                planWorkTurns[planWorkCount] = bestTurns;
+                planWorkCount++;
+            }
+        }
+        return true;
+    }
+
+    // This method broadcasts the work tiles of the corridor we just walked, it returns false so the task is done
+    private static boolean publishPlan() {
+        for (int i = 0; i < planWorkCount; i++) {
+            Broadcaster.queue(Messaging.CORRIDOR, MapMemory.location(planWorkX[i], planWorkY[i]), 0, planWorkTurns[i]);
+        }
+        return false;
+    }
+
+    private static MapLocation nearestStartingArchon(MapLocation here) {
+        MapLocation[] archons = Tables.theirArchons;
+        MapLocation best = null;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = archons.length; --i >= 0; ) {
+            int distance = here.distanceSquaredTo(archons[i]);
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = archons[i];
+            }
+        }
+        return best;
+    }
+
+    /////////////////////////////// Work (soldiers and guards) ////////////////////////////////////////////
+
+    // This method records the work tiles and claims that arrived this turn, diggers call it every turn so that no
+    // claim is missed
+    public static void readMessages() {
+        int round = RobotPlayer.rc.getRoundNum();
+
+        if (Messaging.receivedCount[Messaging.CORRIDOR] > 0) {
+            for (int m = 0; m < Messaging.inboxCount; m++) {
+                if (Messaging.typeOf(Messaging.inboxHeader[m]) != Messaging.CORRIDOR) continue;
+                int body = Messaging.inboxBody[m];
+                int x = Messaging.xOf(body);
+                int y = Messaging.yOf(body);
+                int i = find(x, y);
+                if (i < 0) i = add(x, y);
+                if (i < 0) continue;
+                tileTurns[i] = Messaging.payloadOf(body);
+                tileHeard[i] = round;
+            }
+        }
+
+        // a basic signal claims every work tile next to whoever sent it
+        int me = RobotPlayer.rc.getID();
+        for (int b = Messaging.basicCount; --b >= 0; ) {
+            int sender = Messaging.basicSender[b];
+            int fromX = Messaging.basicX[b];
+            int fromY = Messaging.basicY[b];
+            for (int i = tileCount; --i >= 0; ) {
+                int dx = tileX[i] - fromX;
+                int dy = tileY[i] - fromY;
+                if (dx * dx + dy * dy > 2) continue;
+                // two of us are digging it, the lower id keeps it
+                if (tileClaimer[i] == me && tileExpiry[i] >= round && sender > me) continue;
+                tileClaimer[i] = sender;
+                tileExpiry[i] = round + CLAIM_TTL;
+                tileHeard[i] = round;
+                if (job != null && job.x == tileX[i] && job.y == tileY[i]) job = null;
+            }
+        }
+    }
+
+    // This method digs at our work tile, taking a new one if we need to.  Callers only use it when the unit has
+    // nothing better to do.  It returns true if we moved or dug.
+    public static boolean work() throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        if (!rc.isCoreReady()) return false;
+        // anything we are heading for or can fight comes first, our claim runs out if it keeps us away too long
+        if (RobotPlayer.currentTarget != null || RobotPlayer.enemyCount > 0
+                || RobotPlayer.zombieCount > RobotPlayer.zombieDenCount) {
+            return false;
+        }
+        MapLocation here = rc.getLocation();
+        int round = rc.getRoundNum();
+
+        if (job == null && !takeJob(here, round)) return false;
+
+        // is it clear yet
+        if (rc.canSenseLocation(job) && rc.senseRubble(job) < GameConstants.RUBBLE_OBSTRUCTION_THRESH) {
+            int i = find(job.x, job.y);
+            if (i >= 0) remove(i);
+            job = null;
+            return false;
+        }
+
+        if (here.distanceSquaredTo(job) <= 2) {
+            Direction dir = here.directionTo(job);
+            rc.clearRubble(dir);
+            if (Trace.ENABLED) Trace.note(Trace.CLEAR, job);
+            // then let everybody know we are on it, and keep reminding them.  Signalling adds core delay so it has
+            // to come after the dig or the dig would fail.
+            if (round - renewedRound >= CLAIM_RENEW) {
+                rc.broadcastSignal(CLAIM_RADIUS_SQUARED);
+                renewedRound = round;
+            }
+            return true;
+        }
+        return Navigation.goTo(job);
+    }
+
+    // This method returns true if another unit is digging the tile, so we shouldn't dig it as well
+    public static boolean claimedByOther(int x, int y) {
+        for (int i = tileCount; --i >= 0; ) {
+            if (tileX[i] == x && tileY[i] == y) {
+                return tileClaimer[i] != 0 && tileClaimer[i] != RobotPlayer.rc.getID()
+                        && tileExpiry[i] >= RobotPlayer.rc.getRoundNum();
+            }
+        }
+        return false;
+    }
+
+    // This method claims the nearest work tile nobody else is digging, it returns false if there isn't one
+    private static boolean takeJob(MapLocation here, int round) {
+        int me = RobotPlayer.rc.getID();
+        // drop the tiles we have seen cleared since they were planned, or that nobody needs any more, first.  remove()
+        // moves the last tile into the gap so it can't be done while we are also picking the best one.
+        for (int i = tileCount; --i >= 0; ) {
+            int rubble = MapMemory.rubbleAt(tileX[i], tileY[i]);
+            if (rubble >= 0 && rubble < GameConstants.RUBBLE_OBSTRUCTION_THRESH || round - tileHeard[i] > FORGET_ROUNDS) {
+                remove(i);
+            }
+        }
+
+        int best = -1;
+        int bestDistance = MAX_JOB_DISTANCE + 1;
+        for (int i = tileCount; --i >= 0; ) {
+            if (tileClaimer[i] != 0 && tileClaimer[i] != me && tileExpiry[i] >= round) continue;
+            int distance = Math.max(Math.abs(tileX[i] - here.x), Math.abs(tileY[i] - here.y));
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        if (best < 0) return false;
+        job = MapMemory.location(tileX[best], tileY[best]);
+        tileClaimer[best] = me;
+        tileExpiry[best] = round + CLAIM_TTL;
+        // a new job is claimed as soon as we start digging it
+        renewedRound = -1000;
+        return true;
+    }
+
+    /////////////////////////////// Table ////////////////////////////////////////////
+
+    private static int find(int x, int y) {
+        for (int i = tileCount; --i >= 0; ) {
+            if (tileX[i] == x && tileY[i] == y) return i;
+        }
+        return -1;
+    }
+
+    // This method adds a tile nobody has claimed, it returns -1 if the table is full
+    private static int add(int x, int y) {
+        if (tileCount >= MAX_TILES) return -1;
+        int i = tileCount++;
+        tileX[i] = x;
+        tileY[i] = y;
+        tileTurns[i] = 0;
+        tileClaimer[i] = 0;
+        tileExpiry[i] = 0;
+        tileHeard[i] = RobotPlayer.rc.getRoundNum();
+        return i;
+    }
+
+    // This method forgets a tile by moving the last one into its slot
+    private static void remove(int i) {
+        tileCount--;
+        tileX[i] = tileX[tileCount];
+        tileY[i] = tileY[tileCount];
+        tileTurns[i] = tileTurns[tileCount];
+        tileClaimer[i] = tileClaimer[tileCount];
+        tileExpiry[i] = tileExpiry[tileCount];
+        tileHeard[i] = tileHeard[tileCount];
+    }
+}
@@ -0,0 +1,310 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class decides where our turrets should set up and when it is worth packing up to get there.
+//
+// Packing and unpacking each cost TRANSFORM_TURNS of core and weapon delay, and a TTM can't shoot at all, so a
+// turret that moves gives up a lot of fire.  Every spot we could deploy to is given a value per turn:
+//   - threats in attack range: zombie dens and recent enemy archon sightings from MapMemory and Knowledge
+//   - cover: walls (impassable rubble or the map edge) next to the spot so fewer tiles can reach us, with a bonus
+//     for choke points where both sides of the spot are walls
+//   - home: spots near the middle of our starting archons, so with nothing better to do turrets guard the base
+// and over the next HORIZON rounds a spot is worth
+//     value * (HORIZON - turns to get there and set up)
+// We only pack if the best spot beats staying where we are by MIN_GAIN.
+//
+// The candidates are where we are, a standoff point in range of each threat, and a ring around home.  Scoring them
+// is too much work for one turn so it runs as a Scheduler task every REPLAN_ROUNDS.
+//
+// We also remember the rounds of our last few transforms so a turret that has just set up, or has been packing and
+// unpacking a lot, stays put for a while instead of thrashing.
+public class Deployment {
+
+    // pack and unpack each add this much core and weapon delay, straight from the engine so the cost model can't drift
+    public static final int TRANSFORM_TURNS = GameConstants.TURRET_TRANSFORM_DELAY;
+    // how many rounds ahead we weigh a move over
+    public static final int HORIZON = 100;
+    // a move has to be worth this much more than staying (value times rounds) before we pack
+    public static final double MIN_GAIN = Params.values[Params.DEPLOY_MIN_GAIN];
+    // how often we look for a better spot
+    public static final int REPLAN_ROUNDS = 20;
+
+    // values per turn
+    public static final double DEN_VALUE = 2;
+    public static final double ARCHON_VALUE = 3;
+    public static final double COVER_VALUE = Params.values[Params.COVER_VALUE];
+    public static final double CHOKE_VALUE = 0.5;
+    public static final double HOME_VALUE = 1;
+    // a spot with more walls around it than this is boxed in and gets no cover value
+    public static final int MAX_COVER_WALLS = 5;
+    public static final int HOME_RADIUS_SQUARED = 64;
+
+    // how far from a threat we try to set up, well inside our attack range so it doesn't have to be exact
+    public static final int STANDOFF = 6;
+    // a TTM this close to its spot sets up, the spot itself is often taken by another turret
+    public static final int ARRIVE_RADIUS_SQUARED = 5;
+    // a TTM that takes this many more turns than planned to get somewhere is stuck and sets up where it is
+    public static final int TRAVEL_SLACK = 20;
+
+    // a turret stays set up at least this long after it unpacks
+    public static final int MIN_DEPLOYED_ROUNDS = 30;
+    // we back off if the last HISTORY_SIZE transforms all happened within THRASH_WINDOW rounds
+    public static final int HISTORY_SIZE = 4;
+    public static final int THRASH_WINDOW = 200;
+
+    public static final int MAX_THREATS = 6;
+    public static final int MAX_CANDIDATES = 1 + 3 * MAX_THREATS + 9;
+    public static final int CANDIDATES_PER_STEP = 4;
+
+    // the spot the last plan picked, or null if we are best off where we are
+    public static MapLocation destination;
+    // the value of where we planned from and of the spot we picked, times the rounds we would have left there
+    public static double stayValue;
+    public static double moveValue;
+    // the round the last plan finished and how long it expects the move to take
+    public static int plannedRound = -1000;
+    public static int plannedTurns;
+
+    // the rounds of our last HISTORY_SIZE packs and unpacks, oldest first
+    private static int[] transformRounds = new int[HISTORY_SIZE];
+    private static int transformCount = 0;
+    // the round we last packed and how many turns the trip was meant to take
+    private static int packedRound = -1000;
+    private static int expectedTurns = 0;
+
+    // the plan being worked on
+    private static int[] threatX = new int[MAX_THREATS];
+    private static int[] threatY = new int[MAX_THREATS];
+    private static double[] threatValue = new double[MAX_THREATS];
+    private static int threatCount;
+    private static int[] candidateX = new int[MAX_CANDIDATES];
+    private static int[] candidateY = new int[MAX_CANDIDATES];
+    private static int candidateCount;
+    private static int nextCandidate;
+    private static MapLocation planFrom;
+    private static boolean planPacked;
+    private static int bestCandidate;
+    private static double bestValue;
+    private static double hereValue;
+
+    private static Task planTask = new Task(3000) {
+        public boolean step() throws Exception {
+            return planStep();
+        }
+    };
+
+    // This method starts a new plan when the last one is old, turrets and TTMs call it every turn
+    public static void update() {
+        int round = RobotPlayer.rc.getRoundNum();
+        if (round - plannedRound >= REPLAN_ROUNDS && !Scheduler.isQueued(planTask)) {
+            nextCandidate = -1;
+            Scheduler.add(planTask);
+        }
+    }
+
+    /////////////////////////////// Decisions ////////////////////////////////////////////
+
+    // This method returns true if a turret should pack up and move to a better spot
+    public static boolean shouldPack() {
+        // never stop shooting, including at what our spotters can see for us
+        if (RobotPlayer.enemyCount > 0 || RobotPlayer.zombieCount > 0 || Spotter.remoteCount > 0) return false;
+        if (coolingDown()) return false;
+        if (destination == null || !RobotPlayer.rc.getLocation().equals(planFrom)) return false;
+        return moveValue > stayValue + MIN_GAIN;
+    }
+
+    // This method returns true if a TTM should set up where it is
+    public static boolean shouldUnpack() {
+        RobotController rc = RobotPlayer.rc;
+        // set up to fight anything we can see
+        if (RobotPlayer.enemyCount > 0 || RobotPlayer.zombieCount > 0) return true;
+        // nowhere better to be, or we are there
+        if (destination == null) return true;
+        if (rc.getLocation().distanceSquaredTo(destination) <= ARRIVE_RADIUS_SQUARED) return true;
+        // we are stuck
+        return rc.getRoundNum() - packedRound > expectedTurns + TRAVEL_SLACK;
+    }
+
+    // This method records a pack, the TTM heads for destination from now on
+    public static void packed() {
+        int round = RobotPlayer.rc.getRoundNum();
+        remember(round);
+        packedRound = round;
+        expectedTurns = plannedTurns;
+    }
+
+    // This method records an unpack, we plan again from the spot we set up on once we have settled
+    public static void unpacked() {
+        int round = RobotPlayer.rc.getRoundNum();
+        remember(round);
+        destination = null;
+        plannedRound = round;
+    }
+
+    // This method returns true if we transformed too recently, or too often lately, to pack again
+    private static boolean coolingDown() {
+        if (transformCount == 0) return false;
+        int round = RobotPlayer.rc.getRoundNum();
+        if (round - transformRounds[transformCount - 1] < MIN_DEPLOYED_ROUNDS) return true;
+        return transformCount == HISTORY_SIZE && round - transformRounds[0] < THRASH_WINDOW;
+    }
+
+    private static void remember(int round) {
+        if (transformCount == HISTORY_SIZE) {
+            System.arraycopy(transformRounds, 1, transformRounds, 0, HISTORY_SIZE - 1);
+            transformCount--;
+        }
+        transformRounds[transformCount++] = round;
+    }
+
+    /////////////////////////////// Planning ////////////////////////////////////////////
+
+    // This method does one step of the plan, it returns true if there is more to do
+    private static boolean planStep() {
+        RobotController rc = RobotPlayer.rc;
+        if (nextCandidate < 0) {
+            planFrom = rc.getLocation();
+            planPacked = rc.getType() == RobotType.TTM;
+            collectThreats(rc.getRoundNum());
+            collectCandidates();
+            bestCandidate = 0;
+            bestValue = -1;
+            nextCandidate = 0;
+            return true;
+        }
+
+        int end = Math.min(nextCandidate + CANDIDATES_PER_STEP, candidateCount);
+        for (int i = nextCandidate; i < end; i++) {
+            int turns = turnsTo(candidateX[i], candidateY[i]);
+            if (turns >= HORIZON) continue;
+            double value = valueAt(candidateX[i], candidateY[i]) * (HORIZON - turns);
+            // candidate 0 is where we are
+            if (i == 0) hereValue = value;
+            if (value > bestValue) {
+                bestValue = value;
+                bestCandidate = i;
+            }
+        }
+        nextCandidate = end;
+        if (end < candidateCount) return true;
+
+        stayValue = hereValue;
+        moveValue = bestValue;
+        plannedTurns = turnsTo(candidateX[bestCandidate], candidateY[bestCandidate]);
+        // a TTM that found a new spot on the way gets until then to reach it
+        if (planPacked) expectedTurns = rc.getRoundNum() - packedRound + plannedTurns;
+        destination = bestCandidate == 0 ? null : new MapLocation(candidateX[bestCandidate], candidateY[bestCandidate]);
+        plannedRound = rc.getRoundNum();
+        return false;
+    }
+
+    // This method lists the dens and recent enemy archon sightings we could set up to shoot at
+    private static void collectThreats(int round) {
+        threatCount = 0;
+        for (int i = MapMemory.denCount; --i >= 0 && threatCount < MAX_THREATS; ) {
+            addThreat(MapMemory.denX[i], MapMemory.denY[i], DEN_VALUE);
+        }
+        for (int i = Knowledge.count; --i >= 0 && threatCount < MAX_THREATS; ) {
+            if (Knowledge.kind[i] != Messaging.ENEMY_ARCHON || Knowledge.dead[i]) continue;
+            int age = round - Knowledge.stamp[i];
+            if (age > Knowledge.ENEMY_ARCHON_TTL) continue;
+            // archons move, older sightings are worth less
+            addThreat(Knowledge.entryX[i], Knowledge.entryY[i],
+                    ARCHON_VALUE * (Knowledge.ENEMY_ARCHON_TTL - age) / Knowledge.ENEMY_ARCHON_TTL);
+        }
+    }
+
+    private static void addThreat(int x, int y, double value) {
+        threatX[threatCount] = x;
+        threatY[threatCount] = y;
+        threatValue[threatCount] = value;
+        threatCount++;
+    }
+
+    // This method lists the spots worth scoring, where we are always comes first
+    private static void collectCandidates() {
+        candidateCount = 0;
+        addCandidate(planFrom.x, planFrom.y);
+
+        // a standoff point on our side of each threat and the points either side of it
+        for (int i = threatCount; --i >= 0; ) {
+            MapLocation threat = new MapLocation(threatX[i], threatY[i]);
+            Direction toUs = threat.directionTo(planFrom);
+            if (toUs == Direction.OMNI) toUs = Direction.NORTH;
+            addStandoff(threat, toUs);
+            addStandoff(threat, toUs.rotateLeft());
+            addStandoff(threat, toUs.rotateRight());
+        }
+
+        // home and a ring around it
+        MapLocation home = Broadcaster.home();
+        addCandidate(home.x, home.y);
+        for (int i = 8; --i >= 0; ) {
+            Direction d = RobotPlayer.directions[i];
+            addCandidate(home.x + 2 * d.dx, home.y + 2 * d.dy);
+        }
+    }
+
+    private static void addStandoff(MapLocation threat, Direction d) {
+        // diagonal steps are longer so take fewer of them
+        int steps = d.isDiagonal() ? STANDOFF * 5 / 7 : STANDOFF;
+        addCandidate(threat.x + steps * d.dx, threat.y + steps * d.dy);
+    }
+
+    private static void addCandidate(int x, int y) {
+        if (candidateCount >= MAX_CANDIDATES || !MapMemory.onMap(x, y)) return;
+        // we can't stand on walls
+        if (MapMemory.rubbleAt(x, y) >= GameConstants.RUBBLE_OBSTRUCTION_THRESH) return;
+        candidateX[candidateCount] = x;
+        candidateY[candidateCount] = y;
+        candidateCount++;
+    }
+
+    // This method returns how many turns it would take to be set up and shooting at a spot
+    private static int turnsTo(int x, int y) {
+        if (x == planFrom.x && y == planFrom.y) return planPacked ? TRANSFORM_TURNS : 0;
+        int moves = Math.max(Math.abs(x - planFrom.x), Math.abs(y - planFrom.y));
+        int turns = (int) (moves * RobotType.TTM.movementDelay) + TRANSFORM_TURNS;
+        return planPacked ? turns : turns + TRANSFORM_TURNS;
+    }
+
+    // This method returns what a turret set up at x, y is worth per turn
+    private static double valueAt(int x, int y) {
+        double value = 0;
+        int range = RobotType.TURRET.attackRadiusSquared;
+        for (int i = threatCount; --i >= 0; ) {
+            int dx = threatX[i] - x;
+            int dy = threatY[i] - y;
+            int distance = dx * dx + dy * dy;
+            if (distance > GameConstants.TURRET_MINIMUM_RANGE && distance <= range) value += threatValue[i];
+        }
+
+        // walls next to us, and whether they face each other across us
+        int walls = 0;
+        boolean choke = false;
+        for (int i = 4; --i >= 0; ) {
+            Direction d = RobotPlayer.directions[i];
+            boolean wall = isWall(x + d.dx, y + d.dy);
+            boolean opposite = isWall(x - d.dx, y - d.dy);
+            if (wall) walls++;
+            if (opposite) walls++;
+            if (wall && opposite) choke = true;
+        }
+        if (walls <= MAX_COVER_WALLS) {
+            value += COVER_VALUE * walls;
+            if (choke) value += CHOKE_VALUE;
+        }
+
+        MapLocation home = Broadcaster.home();
+        int hx = home.x - x;
+        int hy = home.y - y;
+        if (hx * hx + hy * hy <= HOME_RADIUS_SQUARED) value += HOME_VALUE;
+        return value;
+    }
+
+    // This method returns true if a tile is off the map or has rubble nobody can walk through, unseen tiles are open
+    private static boolean isWall(int x, int y) {
+        return !MapMemory.onMap(x, y) || MapMemory.rubbleAt(x, y) >= GameConstants.RUBBLE_OBSTRUCTION_THRESH;
+    }
+}
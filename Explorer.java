@@ -0,0 +1,216 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class sends scouts to the parts of the map nobody has looked at yet.
+//
+// The map is cut into SECTOR_SIZE x SECTOR_SIZE sectors on the same grid as message locations, so sector (sx, sy)
+// covers the tiles whose encoded x and y (offset from our origin plus 128) are sx * SECTOR_SIZE ... and
+// sy * SECTOR_SIZE ...  A sector is explored once a scout has had its center in sensor range, and the explored
+// flags live in one bitset of SECTORS * SECTORS bits.
+//
+// A scout heads for the nearest unexplored sector, searching outwards one ring of sectors at a time.  Each ring is
+// searched starting from a point that depends on the scout's ID so scouts that start together fan out.
+//
+// Scouts share what they have explored so they divide the map between them.  The bitset is sent in chunks of
+// CHUNK_BITS consecutive sectors:
+//
+//     header aux: the top 14 bits of the chunk
+//     body:       the center of the chunk's first sector, payload the bottom 16 bits of the chunk
+//
+// A chunk is sent when we explore a sector in it, and it carries everything we know about those sectors, so the
+// news from other scouts spreads along with ours.  Once every sector we know of is explored we start a new sweep.
+public class Explorer {
+
+    // sectors are this many tiles on a side
+    public static final int SECTOR_SIZE = 8;
+    // the grid is SECTORS x SECTORS sectors, enough to cover every location a message can hold
+    public static final int SECTORS = 256 / SECTOR_SIZE;
+    public static final int SECTOR_COUNT = SECTORS * SECTORS;
+    // sectors per EXPLORED message, all 14 aux bits and all 16 payload bits
+    public static final int CHUNK_BITS = 30;
+    public static final int CHUNKS = (SECTOR_COUNT + CHUNK_BITS - 1) / CHUNK_BITS;
+    // the furthest ring of sectors we search for unexplored ones, the map is never more sectors across than this
+    public static final int MAX_RING = GameConstants.MAP_MAX_WIDTH / SECTOR_SIZE + 1;
+    // the encoded coordinate of our origin, see Messaging
+    public static final int BIAS = 128;
+
+    // the explored flag of every sector, sector s is bit s & 63 of explored[s >> 6]
+    public static long[] explored = new long[SECTOR_COUNT / 64];
+    // the chunks with sectors we explored and haven't sent yet
+    private static boolean[] dirty = new boolean[CHUNKS];
+    private static int dirtyCount = 0;
+
+    // the sector we are heading for, or -1 if we need a new one
+    public static int targetSector = -1;
+    public static MapLocation target;
+
+    // This method merges what the other scouts have explored and marks what we can see, scouts call it every turn
+    public static void update() {
+        readMessages();
+        markInView();
+    }
+
+    // This method returns where to explore next
+    public static MapLocation nextTarget() {
+        if (targetSector >= 0 && !isExplored(targetSector)) return target;
+        targetSector = findFrontier();
+        if (targetSector < 0) {
+            // we have seen everything, start again since archons and zombies move
+            for (int i = explored.length; --i >= 0; ) {
+                explored[i] = 0;
+            }
+            markInView();
+            targetSector = findFrontier();
+            if (targetSector < 0) return null;
+        }
+        target = centerOf(targetSector);
+        return target;
+    }
+
+    // This method queues one chunk of what we explored for the other scouts.  A chunk the Broadcaster turns away as
+    // a repeat has already gone out so it counts as sent and we move on to the next one, only a full queue makes us
+    // wait for next turn.
+    public static void publish() {
+        if (dirtyCount == 0) return;
+        for (int c = CHUNKS; --c >= 0; ) {
+            if (!dirty[c]) continue;
+            int bits = chunkBits(c);
+            boolean queued = Broadcaster.queue(Messaging.EXPLORED, centerOf(c * CHUNK_BITS), bits >>> 16, bits & 0xFFFF);
+            if (!queued && Broadcaster.isFull()) return;
+            dirty[c] = false;
+            dirtyCount--;
+            if (queued) return;
+        }
+    }
+
+    /////////////////////////////// Sectors ////////////////////////////////////////////
+
+    public static int sectorOf(int x, int y) {
+        return ((x - Messaging.originX + BIAS) / SECTOR_SIZE) * SECTORS + (y - Messaging.originY + BIAS) / SECTOR_SIZE;
+    }
+
+    public static MapLocation centerOf(int sector) {
+        return new MapLocation((sector / SECTORS) * SECTOR_SIZE + SECTOR_SIZE / 2 + Messaging.originX - BIAS,
+                (sector % SECTORS) * SECTOR_SIZE + SECTOR_SIZE / 2 + Messaging.originY - BIAS);
+    }
+
+    public static boolean isExplored(int sector) {
+        return (explored[sector >> 6] & (1L << (sector & 63))) != 0;
+    }
+
+    // This method marks a sector explored by us, it returns true if it wasn't already
+    private static boolean markExplored(int sector) {
+        if (isExplored(sector)) return false;
+        explored[sector >> 6] |= 1L << (sector & 63);
+        int c = sector / CHUNK_BITS;
+        if (!dirty[c]) {
+            dirty[c] = true;
+            dirtyCount++;
+        }
+        return true;
+    }
+
+    // This method marks the sectors around us whose centers we can see
+    private static void markInView() {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int range = rc.getType().sensorRadiusSquared;
+        int sx = (here.x - Messaging.originX + BIAS) / SECTOR_SIZE;
+        int sy = (here.y - Messaging.originY + BIAS) / SECTOR_SIZE;
+        for (int x = sx + 2; --x >= sx - 1; ) {
+            if (x < 0 || x >= SECTORS) continue;
+            for (int y = sy + 2; --y >= sy - 1; ) {
+                if (y < 0 || y >= SECTORS) continue;
+                int sector = x * SECTORS + y;
+                if (isExplored(sector)) continue;
+                if (here.distanceSquaredTo(centerOf(sector)) <= range) markExplored(sector);
+            }
+        }
+    }
+
+    // This method searches outwards ring by ring for an unexplored sector, it returns -1 if there isn't one
+    private static int findFrontier() {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int sx = (here.x - Messaging.originX + BIAS) / SECTOR_SIZE;
+        int sy = (here.y - Messaging.originY + BIAS) / SECTOR_SIZE;
+
+        // the sectors that could be on the map, going by the edges we have found and the fact that the map is at most
+        // MAP_MAX_WIDTH tiles across and includes our origin
+        int reach = GameConstants.MAP_MAX_WIDTH - 1;
+        int loX = (Math.max(MapMemory.minX, Messaging.originX - reach) - Messaging.originX + BIAS) / SECTOR_SIZE;
+        int hiX = (Math.min(MapMemory.maxX, Messaging.originX + reach) - Messaging.originX + BIAS) / SECTOR_SIZE;
+        int loY = (Math.max(MapMemory.minY, Messaging.originY - reach) - Messaging.originY + BIAS) / SECTOR_SIZE;
+        int hiY = (Math.min(MapMemory.maxY, Messaging.originY + reach) - Messaging.originY + BIAS) / SECTOR_SIZE;
+
+        // spread scouts that are searching from the same place around the ring
+        int spread = rc.getID() * 7;
+
+        for (int r = 1; r <= MAX_RING; r++) {
+            // stop once the ring is outside the map on every side
+            if (sx - r < loX && sx + r > hiX && sy - r < loY && sy + r > hiY) break;
+            int side = 2 * r;
+            int perimeter = 4 * side;
+            int start = spread % perimeter;
+            for (int i = perimeter; --i >= 0; ) {
+                int k = (start + i) % perimeter;
+                int pos = k % side;
+                int x;
+                int y;
+                switch (k / side) {
+                    case 0:
+                        x = sx - r + pos;
+                        y = sy - r;
+                        break;
+                    case 1:
+                        x = sx + r;
+                        y = sy - r + pos;
+                        break;
+                    case 2:
+                        x = sx + r - pos;
+                        y = sy + r;
+                        break;
+                    default:
+                        x = sx - r;
+                        y = sy + r - pos;
+                        break;
+                }
+                if (x < loX || x > hiX || y < loY || y > hiY) continue;
+                int sector = x * SECTORS + y;
+                if (!isExplored(sector)) return sector;
+            }
+        }
+        return -1;
+    }
+
+    /////////////////////////////// Sharing ////////////////////////////////////////////
+
+    // This method returns the explored flags of the sectors in chunk c, the first sector in the top bit
+    private static int chunkBits(int c) {
+        int bits = 0;
+        int first = c * CHUNK_BITS;
+        for (int i = 0; i < CHUNK_BITS; i++) {
+            int sector = first + i;
+            bits <<= 1;
+            if (sector < SECTOR_COUNT && isExplored(sector)) bits |= 1;
+        }
+        return bits;
+    }
+
+    // This method merges the chunks other scouts sent this turn
+    private static void readMessages() {
+        if (Messaging.receivedCount[Messaging.EXPLORED] == 0) return;
+        for (int m = Messaging.inboxCount; --m >= 0; ) {
+            int header = Messaging.inboxHeader[m];
+            if (Messaging.typeOf(header) != Messaging.EXPLORED) continue;
+            int body = Messaging.inboxBody[m];
+            int first = sectorOf(Messaging.xOf(body), Messaging.yOf(body));
+            int bits = (Messaging.auxOf(header) << 16) | Messaging.payloadOf(body);
+            for (int i = CHUNK_BITS; --i >= 0; bits >>>= 1) {
+                int sector = first + i;
+                if ((bits & 1) != 0 && sector < SECTOR_COUNT) explored[sector >> 6] |= 1L << (sector & 63);
+            }
+        }
+    }
+}
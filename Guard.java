@@ -0,0 +1,78 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+import static BasicExample.RobotPlayer.*;
+
+// This class controls our Guards.
+// Guards shoot and chase down any enemies they see, heading for where Tracker expects them to be rather than where
+// they are, but otherwise move randomly until they get a zombie den message at which point they head towards it
+// killing all in their path.
+public class Guard {
+
+    // This variable is used to save the zombie den we are heading for
+    public static MapLocation zombieDen;
+
+    // This method is where we control our guards
+    public static void run() throws Exception {
+        // listen for Archons calling for help and keep up with the corridor tiles being dug
+        Rally.readMessages();
+        Corridor.readMessages();
+
+        // set Guard move direction
+        changeDirection();
+
+        // try to attack
+        if (rc.isWeaponReady() && shootEnemies());
+            // with nothing to do dig out a corridor tile, otherwise try to move if we don't shoot
+        else if (rc.isCoreReady() && (Corridor.work() || travel()));
+    }
+
+    // This method is used to set a Guards direction
+    // The current strategy is to run towards the enemy or zombie we are shooting, or else the nearest, if we see
+    // any, then to defend any Archon calling for help, otherwise we listen for zombie den locations, if we hear of
+    // one we run towards it with our squad otherwise we move randomly
+    public static void changeDirection() throws Exception {
+        // TODO: add overall guard strategy other than chasing enemies and zombie dens
+
+        // if we see enemies or zombies run towards them, enemies first, aiming where they are going
+        MapLocation chase = Tracker.pursue();
+        if (chase != null) {
+            // set our direction to head towards the hostile we have chosen
+            currentDirection = rc.getLocation().directionTo(chase);
+            currentTarget = chase;
+            // exit out of the function to avoid overriding currentDirection
+            return;
+        }
+
+        // an Archon calling for help comes next
+        MapLocation help = Rally.distressCall();
+        if (help != null) {
+            currentDirection = rc.getLocation().directionTo(help);
+            currentTarget = help;
+            return;
+        }
+
+        // head for the nearest zombie den our team knows about, dens that have been destroyed are dropped from the
+        // knowledge base as soon as anyone sees they are gone
+        zombieDen = Knowledge.nearest(Messaging.ZOMBIE_DEN, 0);
+
+        // if we know of an enemy archon we do not want to go in a random direction
+        if (zombieDen == null) {
+            // TODO: don't pick directions randomly... just don't!
+
+            // randomly determine if we should change our direction to widen the range that we will sweep
+            // only change direction WANDER_CHANCE of the time
+            if (rand.nextDouble() < WANDER_CHANCE || currentDirection == null) {
+                // pick a random direction if it is time to change direction.
+                currentDirection = directions[rand.nextInt(8)];
+            }
+            currentTarget = null;
+        } else {
+            // set our direction to be towards the zombie den's position, waiting for our squad first and holding
+            // back if a big wave is about to come out of it
+            currentDirection = rc.getLocation().directionTo(zombieDen);
+            currentTarget = Rally.advanceOn(ZombieForecast.denApproach(zombieDen));
+        }
+    }
+}
@@ -0,0 +1,197 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class sends Archons after free parts and neutral robots.
+//
+// Every parts pile and neutral robot in MapMemory is a candidate, whether we saw it ourselves or Knowledge heard
+// about it from a scout.  Each one is worth
+//     value / (moves to get there + turns to dig through its rubble + 1)
+// where a parts pile is worth its parts and a neutral robot is worth NEUTRAL_MULTIPLIER times what it would cost to
+// build, since activating it also saves the build turns.  The Archon heads for the best candidate and activates
+// neutrals once it is adjacent, parts are picked up just by stepping on them.
+//
+// So that two Archons don't chase the same thing, the one that picks a target broadcasts a HARVEST_CLAIM with how
+// far away it is.  Other Archons leave claimed targets alone unless they are at least HANDOFF_MARGIN moves closer,
+// in which case they claim it themselves and the first Archon hands it off and picks something else.  When two
+// Archons are about as close as each other the lower ID keeps it, so exactly one of them backs off.
+public class Harvester {
+
+    // a neutral is worth this many times its part cost
+    public static final double NEUTRAL_MULTIPLIER = 2;
+    // archons can't be built so a neutral one is given a fixed value
+    public static final int NEUTRAL_ARCHON_VALUE = 500;
+    // targets scoring less than this aren't worth leaving our wander for
+    public static final double MIN_SCORE = 1;
+    // how often we look for a better target even if ours is still there
+    public static final int RESCAN_ROUNDS = 10;
+    // claims we haven't heard refreshed in this many rounds are forgotten
+    public static final int CLAIM_TTL = 40;
+    // how many moves closer we must be to take a target off another Archon
+    public static final int HANDOFF_MARGIN = 3;
+    // the most claims we remember
+    public static final int MAX_CLAIMS = 16;
+    // claims have to reach any Archon that can see the target
+    public static final int CLAIM_REGION_RADIUS_SQUARED = RobotType.ARCHON.sensorRadiusSquared;
+
+    // the target we are heading for, or null if there is nothing worth getting
+    public static MapLocation target;
+    private static int chosenRound = -1000;
+
+    // claims other Archons have made
+    private static int[] claimX = new int[MAX_CLAIMS];
+    private static int[] claimY = new int[MAX_CLAIMS];
+    private static int[] claimDistance = new int[MAX_CLAIMS];
+    private static int[] claimRound = new int[MAX_CLAIMS];
+    private static int[] claimId = new int[MAX_CLAIMS];
+    private static int claimCount = 0;
+
+    // This method returns the location to harvest next, or null if there is nothing worth the trip
+    public static MapLocation chooseTarget() throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+
+        // drop our target if it has been taken, or another Archon has taken it off us
+        MapLocation here = rc.getLocation();
+        if (target != null && (!stillThere(target)
+                || claimedByOther(target, Math.max(Math.abs(target.x - here.x), Math.abs(target.y - here.y)), round))) {
+            target = null;
+        }
+        if (target != null && round - chosenRound < RESCAN_ROUNDS) return target;
+
+        MapLocation best = null;
+        int bestDistance = 0;
+        double bestScore = MIN_SCORE;
+        for (int i = MapMemory.resourceCount; --i >= 0; ) {
+            int x = MapMemory.resourceX[i];
+            int y = MapMemory.resourceY[i];
+            int value = valueAt(x, y);
+            if (value <= 0) {
+                MapMemory.removeResource(i);
+                continue;
+            }
+            int distance = Math.max(Math.abs(x - here.x), Math.abs(y - here.y));
+            int rubble = MapMemory.rubbleAt(x, y);
+            double cost = distance + 1 + (rubble > 0 ? Navigation.clearTurns(rubble) : 0);
+            double score = value / cost;
+            if (score <= bestScore) continue;
+            MapLocation loc = new MapLocation(x, y);
+            if (claimedByOther(loc, distance, round)) continue;
+            bestScore = score;
+            best = loc;
+            bestDistance = distance;
+        }
+
+        chosenRound = round;
+        if (best != null) {
+            // tell the other Archons this one is ours, we only get here every RESCAN_ROUNDS so the claim is kept
+            // alive without flooding the signal queue
+            Broadcaster.queueTo(Messaging.HARVEST_CLAIM, best, 0, bestDistance,
+                    Broadcaster.regionRadiusSquared(best, CLAIM_REGION_RADIUS_SQUARED));
+        }
+        target = best;
+        return target;
+    }
+
+    // This method activates the neutral we are after if we are close enough, it returns true if we did
+    public static boolean tryActivate() throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        if (target == null || rc.getLocation().distanceSquaredTo(target) > GameConstants.ARCHON_ACTIVATION_RANGE) {
+            return false;
+        }
+        RobotInfo robot = rc.senseRobotAtLocation(target);
+        if (robot == null || robot.team != Team.NEUTRAL) return false;
+        rc.activate(target);
+        if (Trace.ENABLED) Trace.note(Trace.ACTIVATE, target);
+        MapMemory.occupant[MapMemory.index(target.x, target.y)] = 0;
+        Knowledge.sawNeutral(target.x, target.y, null);
+        target = null;
+        return true;
+    }
+
+    // This method returns what the parts and neutral on a tile are worth according to our memory
+    private static int valueAt(int x, int y) {
+        int value = MapMemory.partsAt(x, y);
+        RobotType neutral = MapMemory.neutralAt(x, y);
+        if (neutral == RobotType.ARCHON) value += NEUTRAL_ARCHON_VALUE;
+        else if (neutral != null) value += (int) (neutral.partCost * NEUTRAL_MULTIPLIER);
+        return value;
+    }
+
+    // This method checks our target is still there, tiles in view are sensed directly since our memory only
+    // catches up with tiles as they come into view and misses the ones we pick up parts from
+    private static boolean stillThere(MapLocation loc) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        if (rc.canSenseLocation(loc)) {
+            int i = MapMemory.index(loc.x, loc.y);
+            double p = rc.senseParts(loc);
+            short parts = p > Short.MAX_VALUE ? Short.MAX_VALUE : (short) p;
+            if (parts != MapMemory.parts[i]) {
+                MapMemory.parts[i] = parts;
+                Knowledge.sawParts(loc.x, loc.y, parts);
+            }
+            RobotInfo robot = rc.senseRobotAtLocation(loc);
+            if ((robot == null || robot.team != Team.NEUTRAL) && MapMemory.neutralAt(loc.x, loc.y) != null) {
+                MapMemory.occupant[i] = 0;
+                Knowledge.sawNeutral(loc.x, loc.y, null);
+            }
+        }
+        return valueAt(loc.x, loc.y) > 0;
+    }
+
+    // This method returns true if another Archon has a live claim on loc and we aren't enough closer to take it
+    private static boolean claimedByOther(MapLocation loc, int distance, int round) {
+        for (int i = claimCount; --i >= 0; ) {
+            if (claimX[i] != loc.x || claimY[i] != loc.y) continue;
+            // they will have got closer since they claimed it
+            int theirs = claimDistance[i] - (round - claimRound[i]);
+            if (distance + HANDOFF_MARGIN <= theirs) return false;
+            if (theirs + HANDOFF_MARGIN <= distance) return true;
+            // neither of us is much closer, both Archons come to the same answer this way
+            return claimId[i] < RobotPlayer.rc.getID();
+        }
+        return false;
+    }
+
+    // This method records the claims that arrived this turn and forgets old ones, Archons call it every turn so
+    // nothing is missed on the turns they are busy
+    public static void readMessages() {
+        int round = RobotPlayer.rc.getRoundNum();
+        int me = RobotPlayer.rc.getID();
+        for (int i = claimCount; --i >= 0; ) {
+            if (round - claimRound[i] > CLAIM_TTL) {
+                claimCount--;
+                claimX[i] = claimX[claimCount];
+                claimY[i] = claimY[claimCount];
+                claimDistance[i] = claimDistance[claimCount];
+                claimRound[i] = claimRound[claimCount];
+                claimId[i] = claimId[claimCount];
+            }
+        }
+        if (Messaging.receivedCount[Messaging.HARVEST_CLAIM] == 0) return;
+
+        for (int m = Messaging.inboxCount; --m >= 0; ) {
+            if (Messaging.typeOf(Messaging.inboxHeader[m]) != Messaging.HARVEST_CLAIM) continue;
+            if (Messaging.inboxSender[m] == me) continue;
+            int body = Messaging.inboxBody[m];
+            int x = Messaging.xOf(body);
+            int y = Messaging.yOf(body);
+            int slot = -1;
+            for (int i = claimCount; --i >= 0; ) {
+                if (claimX[i] == x && claimY[i] == y) {
+                    slot = i;
+                    break;
+                }
+            }
+            if (slot < 0) {
+                if (claimCount >= MAX_CLAIMS) continue;
+                slot = claimCount++;
+            }
+            claimX[slot] = x;
+            claimY[slot] = y;
+            claimDistance[slot] = Messaging.payloadOf(body);
+            claimRound[slot] = round;
+            claimId[slot] = Messaging.inboxSender[m];
+        }
+    }
+}
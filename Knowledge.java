@@ -0,0 +1,281 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class is every robot's copy of what our team knows about the map: enemy archons, zombie dens, parts piles
+// and neutral robots.  Every robot keeps its own copy and the copies are kept in step with signals.
+//
+// Each entry has a kind (the message type it is sent as), a location, an ID (the robot ID for enemy archons, which
+// move, everything else is identified by its location), a value (parts on the pile, or the neutral's
+// RobotType.ordinal() + 1) and the round it was observed on.  An entry can also be a tombstone, saying the thing is
+// gone: the den was destroyed, the archon moved away, the parts were picked up.  When two copies disagree the newer
+// observation wins, so a tombstone replaces an older sighting and a newer sighting brings an entry back.
+//
+// Robots only broadcast what they observed themselves, one delta per changed entry:
+//
+//     header aux: [ dead : 1 ][ age : 13 ]     age is how many rounds before sending it was observed
+//     body:       the location and, in the payload, the ID for enemy archons or the value for everything else
+//
+// A robot that has just been built knows nothing, so the Archon that built it sends it a snapshot of the live
+// entries once it is ready to listen.
+public class Knowledge {
+
+    // the most entries we keep, the oldest are replaced when we run out of room
+    public static final int MAX_ENTRIES = 64;
+    // the dead flag and the age mask in a delta's aux
+    public static final int DEAD_BIT = 1 << 13;
+    public static final int AGE_MASK = DEAD_BIT - 1;
+    // sightings of an enemy archon older than this are no use as a target
+    public static final int ENEMY_ARCHON_TTL = 100;
+    // an unchanged sighting is broadcast again once it is this many rounds newer than what we last sent
+    public static final int REFRESH_ROUNDS = 30;
+    // the most deltas we queue per turn
+    public static final int DELTAS_PER_TURN = 2;
+    // the most entries in a snapshot, and its radius, which only needs to reach the robot next to us.  The snapshot
+    // goes out through the Broadcaster over the next few turns and it never sends with less than the free range, which
+    // reaches further than the new robot can move in that time.
+    public static final int SNAPSHOT_SIZE = 10;
+    public static final int SNAPSHOT_RADIUS_SQUARED = 2;
+
+    public static int[] kind = new int[MAX_ENTRIES];
+    public static int[] entryX = new int[MAX_ENTRIES];
+    public static int[] entryY = new int[MAX_ENTRIES];
+    public static int[] entryId = new int[MAX_ENTRIES];
+    public static int[] value = new int[MAX_ENTRIES];
+    public static int[] stamp = new int[MAX_ENTRIES];
+    public static boolean[] dead = new boolean[MAX_ENTRIES];
+    // true for entries we changed ourselves and haven't broadcast yet
+    private static boolean[] dirty = new boolean[MAX_ENTRIES];
+    // the observation round we last broadcast for each entry
+    private static int[] sentStamp = new int[MAX_ENTRIES];
+    public static int count = 0;
+
+    // the round an Archon owes the robot it just built a snapshot
+    private static int snapshotRound = -1;
+
+    /////////////////////////////// Updating ////////////////////////////////////////////
+
+    // This method is called once per turn after the signals are read, it merges the deltas we received and then
+    // records what we can see ourselves
+    public static void update() {
+        readMessages();
+        observe();
+    }
+
+    // This method records an observation and returns true if it changed what we know.  Observations we made
+    // ourselves are marked for broadcast, ones we heard about are also copied into MapMemory.
+    public static boolean record(int k, int x, int y, int id, int v, int round, boolean isDead, boolean local) {
+        int i = find(k, x, y, id);
+        if (i >= 0) {
+            if (round < stamp[i]) return false;
+            boolean changed = dead[i] != isDead || value[i] != v || entryX[i] != x || entryY[i] != y;
+            stamp[i] = round;
+            if (!changed) {
+                // an unchanged sighting only needs passing on once in a while so the others know it is still true
+                if (local && round - sentStamp[i] >= REFRESH_ROUNDS) dirty[i] = true;
+                return false;
+            }
+        } else {
+            // there is nothing to forget about something we never knew
+            if (isDead) return false;
+            i = freeSlot();
+            kind[i] = k;
+            entryId[i] = id;
+            stamp[i] = round;
+            sentStamp[i] = -1000;
+        }
+        entryX[i] = x;
+        entryY[i] = y;
+        value[i] = v;
+        dead[i] = isDead;
+        dirty[i] = local;
+        if (!local) copyToMap(i);
+        return true;
+    }
+
+    // This method records the parts we just sensed on a tile, MapMemory calls it when they change
+    public static void sawParts(int x, int y, int parts) {
+        record(Messaging.PARTS, x, y, 0, parts, RobotPlayer.rc.getRoundNum(), parts == 0, true);
+    }
+
+    // This method records a neutral robot on a tile, or that it is gone if type is null
+    public static void sawNeutral(int x, int y, RobotType type) {
+        record(Messaging.NEUTRAL, x, y, 0, type == null ? 0 : type.ordinal() + 1, RobotPlayer.rc.getRoundNum(),
+                type == null, true);
+    }
+
+    // This method merges the deltas that arrived this turn
+    private static void readMessages() {
+        int[] counts = Messaging.receivedCount;
+        if (counts[Messaging.ENEMY_ARCHON] + counts[Messaging.ZOMBIE_DEN] + counts[Messaging.PARTS]
+                + counts[Messaging.NEUTRAL] == 0) {
+            return;
+        }
+        for (int m = Messaging.inboxCount; --m >= 0; ) {
+            int header = Messaging.inboxHeader[m];
+            int k = Messaging.typeOf(header);
+            if (k != Messaging.ENEMY_ARCHON && k != Messaging.ZOMBIE_DEN && k != Messaging.PARTS
+                    && k != Messaging.NEUTRAL) {
+                continue;
+            }
+            int body = Messaging.inboxBody[m];
+            int aux = Messaging.auxOf(header);
+            int payload = Messaging.payloadOf(body);
+            int round = Messaging.roundOf(header) - (aux & AGE_MASK);
+            boolean isDead = (aux & DEAD_BIT) != 0;
+            if (k == Messaging.ENEMY_ARCHON) {
+                record(k, Messaging.xOf(body), Messaging.yOf(body), payload, 0, round, isDead, false);
+            } else {
+                record(k, Messaging.xOf(body), Messaging.yOf(body), 0, payload, round, isDead, false);
+            }
+        }
+    }
+
+    // This method records the enemy archons and dens in view and marks the ones that should be in view but aren't
+    private static void observe() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        for (int i = RobotPlayer.enemyArchonCount; --i >= 0; ) {
+            RobotInfo archon = RobotPlayer.enemyArchons[i];
+            record(Messaging.ENEMY_ARCHON, archon.location.x, archon.location.y, archon.ID, 0, round, false, true);
+        }
+        for (int i = RobotPlayer.zombieDenCount; --i >= 0; ) {
+            MapLocation loc = RobotPlayer.zombieDens[i].location;
+            record(Messaging.ZOMBIE_DEN, loc.x, loc.y, 0, 0, round, false, true);
+        }
+
+        // anything we just recorded has this round's stamp, anything else in range is gone
+        MapLocation here = rc.getLocation();
+        int sensorRadius = rc.getType().sensorRadiusSquared;
+        for (int i = count; --i >= 0; ) {
+            if (dead[i] || stamp[i] == round) continue;
+            int k = kind[i];
+            if (k != Messaging.ENEMY_ARCHON && k != Messaging.ZOMBIE_DEN) continue;
+            int dx = entryX[i] - here.x;
+            int dy = entryY[i] - here.y;
+            if (dx * dx + dy * dy > sensorRadius) continue;
+            dead[i] = true;
+            stamp[i] = round;
+            dirty[i] = true;
+        }
+    }
+
+    /////////////////////////////// Sharing ////////////////////////////////////////////
+
+    // This method queues deltas for the entries we changed, a few per turn, to reach at least radiusSquared
+    public static void publish(int radiusSquared) {
+        int round = RobotPlayer.rc.getRoundNum();
+        int queued = 0;
+        for (int i = count; --i >= 0 && queued < DELTAS_PER_TURN; ) {
+            if (!dirty[i]) continue;
+            if (Broadcaster.queueTo(kind[i], new MapLocation(entryX[i], entryY[i]), auxOf(i, round), payloadOf(i),
+                    radiusSquared)) {
+                queued++;
+            } else if (Broadcaster.isFull()) {
+                // it was dropped, keep it dirty and try again next turn
+                return;
+            }
+            // queued, or the same delta went out recently which is just as good
+            dirty[i] = false;
+            sentStamp[i] = stamp[i];
+        }
+    }
+
+    // This method is called by an Archon after it builds a robot, the robot can hear us once it is finished
+    public static void scheduleSnapshot(RobotType built) {
+        snapshotRound = RobotPlayer.rc.getRoundNum() + built.buildTurns;
+    }
+
+    // This method queues the snapshot we owe a newly built robot if it is due, Archons call it every turn
+    public static void sendSnapshotIfDue() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        if (snapshotRound < 0 || round < snapshotRound) return;
+        snapshotRound = -1;
+
+        // newest first, skipping tombstones and archon sightings too old to be any use
+        int sent = 0;
+        for (int i = count; --i >= 0 && sent < SNAPSHOT_SIZE && !Broadcaster.isFull(); ) {
+            if (dead[i]) continue;
+            if (kind[i] == Messaging.ENEMY_ARCHON && round - stamp[i] > ENEMY_ARCHON_TTL) continue;
+            Broadcaster.queueTo(kind[i], new MapLocation(entryX[i], entryY[i]), auxOf(i, round), payloadOf(i),
+                    SNAPSHOT_RADIUS_SQUARED);
+            sent++;
+        }
+    }
+
+    /////////////////////////////// Lookups ////////////////////////////////////////////
+
+    // This method returns the nearest live entry of a kind, ignoring ones observed more than maxAge rounds ago
+    // (0 for no limit), or null if there isn't one
+    public static MapLocation nearest(int k, int maxAge) {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int round = rc.getRoundNum();
+        int best = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = count; --i >= 0; ) {
+            if (kind[i] != k || dead[i]) continue;
+            if (maxAge > 0 && round - stamp[i] > maxAge) continue;
+            int dx = entryX[i] - here.x;
+            int dy = entryY[i] - here.y;
+            int distance = dx * dx + dy * dy;
+            if (distance < bestDistance) {
+                bestDistance = distance;
+                best = i;
+            }
+        }
+        return best < 0 ? null : new MapLocation(entryX[best], entryY[best]);
+    }
+
+    private static int find(int k, int x, int y, int id) {
+        for (int i = count; --i >= 0; ) {
+            if (kind[i] != k) continue;
+            if (k == Messaging.ENEMY_ARCHON ? entryId[i] == id : entryX[i] == x && entryY[i] == y) return i;
+        }
+        return -1;
+    }
+
+    // This method returns a slot for a new entry, replacing the oldest tombstone, or failing that the oldest entry
+    private static int freeSlot() {
+        if (count < MAX_ENTRIES) return count++;
+        int oldest = 0;
+        for (int i = MAX_ENTRIES; --i > 0; ) {
+            if (dead[i] != dead[oldest] ? dead[i] : stamp[i] < stamp[oldest]) oldest = i;
+        }
+        return oldest;
+    }
+
+    private static int auxOf(int i, int round) {
+        return (dead[i] ? DEAD_BIT : 0) | Math.min(round - stamp[i], AGE_MASK);
+    }
+
+    private static int payloadOf(int i) {
+        return kind[i] == Messaging.ENEMY_ARCHON ? entryId[i] : value[i];
+    }
+
+    // This method copies an entry we heard about into MapMemory so the rest of the bot sees it
+    private static void copyToMap(int i) {
+        int x = entryX[i];
+        int y = entryY[i];
+        int idx = MapMemory.index(x, y);
+        switch (kind[i]) {
+            case Messaging.ZOMBIE_DEN:
+                if (dead[i]) MapMemory.removeDen(new MapLocation(x, y));
+                else MapMemory.addDen(new MapLocation(x, y));
+                break;
+            case Messaging.PARTS:
+                // our own eyes beat a report of an older observation
+                if (MapMemory.lastSeen[idx] - 1 >= stamp[i]) break;
+                MapMemory.parts[idx] = (short) Math.min(value[i], Short.MAX_VALUE);
+                if (value[i] > 0) MapMemory.addResource(x, y);
+                break;
+            case Messaging.NEUTRAL:
+                if (MapMemory.lastSeen[idx] - 1 >= stamp[i]) break;
+                if (MapMemory.occupant[idx] == RobotType.ZOMBIEDEN.ordinal() + 1) break;
+                MapMemory.occupant[idx] = (short) value[i];
+                if (value[i] > 0) MapMemory.addResource(x, y);
+                break;
+        }
+    }
+}
@@ -0,0 +1,397 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class remembers what a robot has sensed so it doesn't have to sense it again every turn.
+//
+// Everything is stored in flat primitive arrays with one entry per tile.  A tile's index comes from its offset from
+// our team's first initial archon location, wrapped around GRID_SIZE.  Maps are at most GRID_SIZE tiles across so
+// two tiles that are both on the map can never share an index, which lets an 80x80 grid cover any map.
+//
+// The engine only senses tiles through a MapLocation, so location() hands out one MapLocation per tile, built the
+// first time that tile is asked for and reused after that, and code that runs every turn never has to allocate one.
+//
+// Only tiles that just came into view are sensed: after a one tile move we sense the edge of our sensor circle in the
+// direction we moved (about a dozen tiles) instead of the whole circle.  The work is done as a Scheduler task so it
+// only ever uses spare bytecodes.
+public class MapMemory {
+
+    // the grid is GRID_SIZE x GRID_SIZE tiles
+    public static final int GRID_SIZE = GameConstants.MAP_MAX_WIDTH;
+    public static final int GRID_TILES = GRID_SIZE * GRID_SIZE;
+    // the most zombie dens we remember
+    public static final int MAX_DENS = 32;
+    // the most parts piles and neutral robots we remember
+    public static final int MAX_RESOURCES = 64;
+    // the most tiles one step of the sensing task senses
+    public static final int TILES_PER_STEP = 24;
+
+    // origin the grid is indexed against
+    public static int originX;
+    public static int originY;
+
+    // rubble on each tile, capped at Short.MAX_VALUE
+    public static short[] rubble = new short[GRID_TILES];
+    // parts on each tile
+    public static short[] parts = new short[GRID_TILES];
+    // the type of the neutral robot or zombie den on each tile as RobotType.ordinal() + 1, or 0 for nothing
+    public static short[] occupant = new short[GRID_TILES];
+    // the round we last sensed each tile plus one, so 0 means we have never seen it
+    public static short[] lastSeen = new short[GRID_TILES];
+    // the MapLocation of each tile, null until location() is first asked for it
+    private static MapLocation[] locations = new MapLocation[GRID_TILES];
+
+    // the map edges we have found so far, anything outside these is off the map
+    public static int minX = Integer.MIN_VALUE;
+    public static int maxX = Integer.MAX_VALUE;
+    public static int minY = Integer.MIN_VALUE;
+    public static int maxY = Integer.MAX_VALUE;
+
+    // every zombie den we have seen
+    public static int[] denX = new int[MAX_DENS];
+    public static int[] denY = new int[MAX_DENS];
+    public static int denCount = 0;
+
+    // every tile we have seen parts or a neutral robot on, entries can go stale and are dropped by whoever reads them
+    public static int[] resourceX = new int[MAX_RESOURCES];
+    public static int[] resourceY = new int[MAX_RESOURCES];
+    public static int resourceCount = 0;
+
+    // offsets of every tile inside our sensor radius
+    private static int[] diskDx;
+    private static int[] diskDy;
+    // for each direction the offsets of the tiles that come into view when we move one tile that way
+    private static int[][] edgeDx = new int[8][];
+    private static int[][] edgeDy = new int[8][];
+    // how many of the edge lists have been built so far
+    private static int edgesBuilt = 0;
+    private static int sensorRadius;
+
+    // the location we last finished sensing from, null before the first full scan
+    private static MapLocation syncedLocation;
+    // progress through a full scan of the disk
+    private static int fullScanIndex = -1;
+
+    // the Scheduler keeps our memory in sync with our location using spare bytecodes
+    private static Task syncTask = new Task(TILES_PER_STEP * 60) {
+        public boolean step() throws Exception {
+            return syncStep();
+        }
+    };
+
+    // This method sets up the origin and the list of tiles we can sense, it is called once when the robot starts
+    public static void init() {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation origin = Tables.ourArchons[0];
+        originX = origin.x;
+        originY = origin.y;
+        buildDisk(rc.getType().sensorRadiusSquared);
+    }
+
+    // This method is called once per turn after sensing, it records dens and queues sensing of new tiles
+    public static void update() throws Exception {
+        RobotController rc = RobotPlayer.rc;
+
+        // a TTM and a turret have the same sensor radius but make sure we rebuild if our sensors ever change
+        if (rc.getType().sensorRadiusSquared != sensorRadius) {
+            buildDisk(rc.getType().sensorRadiusSquared);
+            syncedLocation = null;
+        }
+
+        // forget dens that should be in view but aren't, they have been destroyed
+        MapLocation here = rc.getLocation();
+        for (int i = denCount; --i >= 0; ) {
+            int dx = denX[i] - here.x;
+            int dy = denY[i] - here.y;
+            if (dx * dx + dy * dy <= sensorRadius && !denInView(denX[i], denY[i])) {
+                removeDen(new MapLocation(denX[i], denY[i]));
+            }
+        }
+        // remember every den in view, the sensing cache has already found them
+        for (int i = RobotPlayer.zombieDenCount; --i >= 0; ) {
+            addDen(RobotPlayer.zombieDens[i].location);
+        }
+
+        if (!rc.getLocation().equals(syncedLocation) && !Scheduler.isQueued(syncTask)) {
+            Scheduler.add(syncTask);
+        }
+    }
+
+    /////////////////////////////// Lookups ////////////////////////////////////////////
+
+    // This method returns the index of a tile in the grid.  Java's % keeps the sign of x - originX so negative
+    // offsets are wrapped by hand, adding GRID_SIZE first isn't enough for a tile more than GRID_SIZE behind us.
+    public static int index(int x, int y) {
+        int dx = (x - originX) % GRID_SIZE;
+        if (dx < 0) dx += GRID_SIZE;
+        int dy = (y - originY) % GRID_SIZE;
+        if (dy < 0) dy += GRID_SIZE;
+        return dx * GRID_SIZE + dy;
+    }
+
+    // This method returns the MapLocation of a tile without allocating one after the first time.  Tiles off the map
+    // can share an index with a tile on it, so the cached location is checked before it is handed out.
+    public static MapLocation location(int x, int y) {
+        int i = index(x, y);
+        MapLocation loc = locations[i];
+        if (loc == null || loc.x != x || loc.y != y) {
+            loc = new MapLocation(x, y);
+            locations[i] = loc;
+        }
+        return loc;
+    }
+
+    // This method returns false if we know the location is off the map.  The origin is on the map and the map is at
+    // most GRID_SIZE across, so anything GRID_SIZE or more from the origin is off it even before we find the edge.
+    public static boolean onMap(int x, int y) {
+        int dx = x - originX;
+        int dy = y - originY;
+        if (dx <= -GRID_SIZE || dx >= GRID_SIZE || dy <= -GRID_SIZE || dy >= GRID_SIZE) return false;
+        return x >= minX && x <= maxX && y >= minY && y <= maxY;
+    }
+
+    // This method returns true if we have ever sensed the location
+    public static boolean seen(MapLocation loc) {
+        return lastSeen[index(loc.x, loc.y)] != 0;
+    }
+
+    // This method returns the rubble we remember on a tile, or -1 if we have never seen it
+    public static int rubbleAt(int x, int y) {
+        int i = index(x, y);
+        return lastSeen[i] == 0 ? -1 : rubble[i];
+    }
+
+    public static int partsAt(int x, int y) {
+        return parts[index(x, y)];
+    }
+
+    // This method returns the neutral robot or zombie den we remember on a tile, or null if there isn't one
+    public static RobotType occupantAt(int x, int y) {
+        int type = occupant[index(x, y)];
+        return type == 0 ? null : Tables.TYPES[type - 1];
+    }
+
+    // This method returns the round we last sensed a tile, or -1 if we never have
+    public static int lastSeenRound(int x, int y) {
+        return lastSeen[index(x, y)] - 1;
+    }
+
+    // This method returns the neutral robot we remember on a tile, or null if there isn't one
+    public static RobotType neutralAt(int x, int y) {
+        int type = occupant[index(x, y)];
+        return type == 0 || type == RobotType.ZOMBIEDEN.ordinal() + 1 ? null : Tables.TYPES[type - 1];
+    }
+
+    // This method records a tile with parts or a neutral robot on it if we don't know about it already
+    public static void addResource(int x, int y) {
+        for (int i = resourceCount; --i >= 0; ) {
+            if (resourceX[i] == x && resourceY[i] == y) return;
+        }
+        if (resourceCount < MAX_RESOURCES) {
+            resourceX[resourceCount] = x;
+            resourceY[resourceCount] = y;
+            resourceCount++;
+        }
+    }
+
+    // This method forgets the resource in slot i by moving the last one into its place
+    public static void removeResource(int i) {
+        resourceCount--;
+        resourceX[i] = resourceX[resourceCount];
+        resourceY[i] = resourceY[resourceCount];
+    }
+
+    // This method records a zombie den if we don't know about it already
+    public static void addDen(MapLocation loc) {
+        for (int i = denCount; --i >= 0; ) {
+            if (denX[i] == loc.x && denY[i] == loc.y) return;
+        }
+        if (denCount < MAX_DENS) {
+            denX[denCount] = loc.x;
+            denY[denCount] = loc.y;
+            denCount++;
+        }
+        occupant[index(loc.x, loc.y)] = (short) (RobotType.ZOMBIEDEN.ordinal() + 1);
+    }
+
+    // This method forgets a zombie den, for example once we have seen that it was destroyed
+    public static void removeDen(MapLocation loc) {
+        for (int i = denCount; --i >= 0; ) {
+            if (denX[i] == loc.x && denY[i] == loc.y) {
+                denCount--;
+                denX[i] = denX[denCount];
+                denY[i] = denY[denCount];
+            }
+        }
+        int i = index(loc.x, loc.y);
+        if (occupant[i] == RobotType.ZOMBIEDEN.ordinal() + 1) occupant[i] = 0;
+    }
+
+    // This method returns true if the sensing cache saw a den at this location this round
+    private static boolean denInView(int x, int y) {
+        for (int i = RobotPlayer.zombieDenCount; --i >= 0; ) {
+            MapLocation loc = RobotPlayer.zombieDens[i].location;
+            if (loc.x == x && loc.y == y) return true;
+        }
+        return false;
+    }
+
+    /////////////////////////////// Sensing ////////////////////////////////////////////
+
+    // This method does one step of bringing our memory up to date with where we are standing now,
+    // it returns true if there is more to do
+    private static boolean syncStep() throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+
+        // finish building the edge lists one direction per step
+        if (edgesBuilt < 8) {
+            buildEdge(edgesBuilt++);
+            return true;
+        }
+
+        if (fullScanIndex < 0) {
+            if (here.equals(syncedLocation)) return false;
+            // if we only moved one tile we only need to sense the edge we moved towards
+            if (syncedLocation != null && syncedLocation.isAdjacentTo(here)) {
+                Direction moved = syncedLocation.directionTo(here);
+                findEdges(here);
+                senseTiles(here, edgeDx[moved.ordinal()], edgeDy[moved.ordinal()], 0, edgeDx[moved.ordinal()].length);
+                senseNeutrals();
+                syncedLocation = here;
+                return false;
+            }
+            // otherwise we sense everything in view over as many steps as it takes
+            findEdges(here);
+            fullScanIndex = 0;
+        }
+
+        int end = Math.min(fullScanIndex + TILES_PER_STEP, diskDx.length);
+        senseTiles(here, diskDx, diskDy, fullScanIndex, end);
+        fullScanIndex = end;
+        if (end < diskDx.length) return true;
+
+        fullScanIndex = -1;
+        senseNeutrals();
+        syncedLocation = here;
+        return false;
+    }
+
+    // This method senses rubble and parts on a list of tiles around here
+    private static void senseTiles(MapLocation here, int[] dxs, int[] dys, int from, int to) {
+        RobotController rc = RobotPlayer.rc;
+        short stamp = (short) (rc.getRoundNum() + 1);
+        int hx = here.x;
+        int hy = here.y;
+        for (int i = from; i < to; i++) {
+            int x = hx + dxs[i];
+            int y = hy + dys[i];
+            if (x < minX || x > maxX || y < minY || y > maxY) continue;
+            MapLocation loc = location(x, y);
+            int idx = index(x, y);
+            double r = rc.senseRubble(loc);
+            rubble[idx] = r > Short.MAX_VALUE ? Short.MAX_VALUE : (short) r;
+            double p = rc.senseParts(loc);
+            short amount = p > Short.MAX_VALUE ? Short.MAX_VALUE : (short) p;
+            if (amount != parts[idx]) {
+                // tell the knowledge base about new piles and piles that have been picked up
+                parts[idx] = amount;
+                Knowledge.sawParts(x, y, amount);
+            }
+            if (amount > 0) addResource(x, y);
+            // neutrals get put back by senseNeutrals(), dens are only cleared once we know they are dead
+            if (occupant[idx] != RobotType.ZOMBIEDEN.ordinal() + 1) occupant[idx] = 0;
+            lastSeen[idx] = stamp;
+        }
+    }
+
+    // This method records every neutral robot in view
+    private static void senseNeutrals() {
+        RobotController rc = RobotPlayer.rc;
+        RobotInfo[] neutrals = rc.senseNearbyRobots(sensorRadius, Team.NEUTRAL);
+        for (int i = neutrals.length; --i >= 0; ) {
+            MapLocation loc = neutrals[i].location;
+            int idx = index(loc.x, loc.y);
+            short type = (short) (neutrals[i].type.ordinal() + 1);
+            if (occupant[idx] != type) Knowledge.sawNeutral(loc.x, loc.y, neutrals[i].type);
+            occupant[idx] = type;
+            addResource(loc.x, loc.y);
+        }
+    }
+
+    // This method looks along the four axes for any map edges we haven't found yet, the first tile that is off
+    // the map going outwards tells us where the edge is.  The tiles come from location() so nothing is allocated
+    // once we have looked along an axis before.
+    private static void findEdges(MapLocation here) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        int reach = (int) Math.sqrt(sensorRadius);
+        if (minX == Integer.MIN_VALUE) {
+            for (int k = 1; k <= reach; k++) {
+                if (!rc.onTheMap(location(here.x - k, here.y))) {
+                    minX = here.x - k + 1;
+                    break;
+                }
+            }
+        }
+        if (maxX == Integer.MAX_VALUE) {
+            for (int k = 1; k <= reach; k++) {
+                if (!rc.onTheMap(location(here.x + k, here.y))) {
+                    maxX = here.x + k - 1;
+                    break;
+                }
+            }
+        }
+        if (minY == Integer.MIN_VALUE) {
+            for (int k = 1; k <= reach; k++) {
+                if (!rc.onTheMap(location(here.x, here.y - k))) {
+                    minY = here.y - k + 1;
+                    break;
+                }
+            }
+        }
+        if (maxY == Integer.MAX_VALUE) {
+            for (int k = 1; k <= reach; k++) {
+                if (!rc.onTheMap(location(here.x, here.y + k))) {
+                    maxY = here.y + k - 1;
+                    break;
+                }
+            }
+        }
+    }
+
+    /////////////////////////////// Offset tables ////////////////////////////////////////////
+
+    // This method picks up the list of every offset inside a sensor radius
+    private static void buildDisk(int radiusSquared) {
+        sensorRadius = radiusSquared;
+        diskDx = Tables.diskDx(radiusSquared);
+        diskDy = Tables.diskDy(radiusSquared);
+        edgesBuilt = 0;
+    }
+
+    // This method lists the offsets that are in view after moving one tile in a direction but weren't before
+    private static void buildEdge(int dir) {
+        int ddx = Tables.DX[dir];
+        int ddy = Tables.DY[dir];
+        int r = sensorRadius;
+        int[] dxs = Tables.scratchX;
+        int[] dys = Tables.scratchY;
+        int count = 0;
+        for (int i = diskDx.length; --i >= 0; ) {
+            // where this tile was relative to us before we moved
+            int ox = diskDx[i] + ddx;
+            int oy = diskDy[i] + ddy;
+            if (ox * ox + oy * oy > r) {
+                dxs[count] = diskDx[i];
+                dys[count] = diskDy[i];
+                count++;
+            }
+        }
+        int[] edgeX = new int[count];
+        int[] edgeY = new int[count];
+        System.arraycopy(dxs, 0, edgeX, 0, count);
+        System.arraycopy(dys, 0, edgeY, 0, count);
+        edgeDx[dir] = edgeX;
+        edgeDy[dir] = edgeY;
+    }
+}
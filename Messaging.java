@@ -0,0 +1,199 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class packs everything we want to say into the two ints a single message signal can carry and decodes
+// the signal queue exactly once per turn.
+//
+// A message is laid out like this (bit 31 on the left):
+//
+//     header: [ type : 6 ][ round : 12 ][ aux : 14 ]
+//     body:   [   x : 8  ][   y : 8    ][ payload : 16 ]
+//
+// x and y are stored as offsets from our team's first initial archon location (biased by 128 so they are never
+// negative).  Maps are at most 80 tiles across so every location on the map fits in 8 bits this way, and every
+// one of our bots can work out the same origin from rc.getInitialArchonLocations().
+public class Messaging {
+
+    // These constants are the message types, 0 is left unused so an empty header never decodes to a real type
+    // ENEMY_ARCHON, ZOMBIE_DEN, PARTS and NEUTRAL carry Knowledge deltas, see Knowledge for their layout
+    public static final int ENEMY_ARCHON = 1;
+    public static final int ZOMBIE_DEN = 2;
+    // an Archon is going after the parts or neutral at this location, payload is how many moves away it is
+    public static final int HARVEST_CLAIM = 3;
+    public static final int PARTS = 4;
+    // an Archon is under attack at this location, aux is how much danger it is in and payload is its health
+    public static final int DISTRESS = 5;
+    public static final int NEUTRAL = 6;
+    // up to two hostiles a scout can see but its turret can't, see Spotter for the layout
+    public static final int SPOTTED = 7;
+    // a chunk of the sectors scouts have explored, see Explorer for the layout
+    public static final int EXPLORED = 8;
+    // a tile on a corridor we want dug out, payload is how many turns of digging it needs, see Corridor
+    public static final int CORRIDOR = 9;
+    // how many of each type an Archon has built, see BuildPlanner for the layout
+    public static final int ARMY = 10;
+    // Soldiers and guards can't send messages, only basic signals.  A basic signal from one of them is a claim on
+    // the corridor tiles next to it, see Corridor.
+
+    // number of slots in the per type arrays below, must be at least one more than the largest message type
+    public static final int NUM_TYPES = 16;
+    // the most messages we decode in a single turn, anything past this is dropped
+    public static final int MAX_INBOX = 64;
+
+    // bias added to location offsets so they always fit in an unsigned byte
+    private static final int LOCATION_BIAS = 128;
+
+    // origin that all locations are encoded relative to
+    public static int originX;
+    public static int originY;
+
+    // Per type slots, every unit role reads its messages from here instead of touching the signal queue
+    // the round we last received this type of message on
+    public static int[] lastRound = new int[NUM_TYPES];
+    // how many messages of each type arrived this turn
+    public static int[] receivedCount = new int[NUM_TYPES];
+    // the most recent location, round stamp, aux and payload sent for each type
+    public static MapLocation[] latestLocation = new MapLocation[NUM_TYPES];
+    public static int[] latestStamp = new int[NUM_TYPES];
+    public static int[] latestAux = new int[NUM_TYPES];
+    public static int[] latestPayload = new int[NUM_TYPES];
+    public static int[] latestSender = new int[NUM_TYPES];
+
+    // Every decoded message from this turn in arrival order, for subsystems that care about more than the latest one
+    public static int[] inboxHeader = new int[MAX_INBOX];
+    public static int[] inboxBody = new int[MAX_INBOX];
+    public static int[] inboxSender = new int[MAX_INBOX];
+    public static int inboxCount = 0;
+
+    // Every basic signal from our team this turn, where it came from and who sent it
+    public static int[] basicX = new int[MAX_INBOX];
+    public static int[] basicY = new int[MAX_INBOX];
+    public static int[] basicSender = new int[MAX_INBOX];
+    public static int basicCount = 0;
+
+    // This method sets up the origin, it must be called once before sending or reading any messages
+    public static void init() {
+        MapLocation origin = Tables.ourArchons[0];
+        originX = origin.x;
+        originY = origin.y;
+    }
+
+    /////////////////////////////// Encoding ////////////////////////////////////////////
+
+    public static int encodeHeader(int type, int round, int aux) {
+        return (type << 26) | ((round & 0xFFF) << 14) | (aux & 0x3FFF);
+    }
+
+    public static int encodeBody(MapLocation loc, int payload) {
+        return encodeBody(loc.x, loc.y, payload);
+    }
+
+    public static int encodeBody(int x, int y, int payload) {
+        return ((x - originX + LOCATION_BIAS) << 24) | (((y - originY + LOCATION_BIAS) & 0xFF) << 16) | (payload & 0xFFFF);
+    }
+
+    /////////////////////////////// Decoding ////////////////////////////////////////////
+
+    public static int typeOf(int header) {
+        return header >>> 26;
+    }
+
+    public static int roundOf(int header) {
+        return (header >>> 14) & 0xFFF;
+    }
+
+    public static int auxOf(int header) {
+        return header & 0x3FFF;
+    }
+
+    public static int xOf(int body) {
+        return (body >>> 24) + originX - LOCATION_BIAS;
+    }
+
+    public static int yOf(int body) {
+        return ((body >>> 16) & 0xFF) + originY - LOCATION_BIAS;
+    }
+
+    public static MapLocation locationOf(int body) {
+        return new MapLocation(xOf(body), yOf(body));
+    }
+
+    public static int payloadOf(int body) {
+        return body & 0xFFFF;
+    }
+
+    /////////////////////////////// Sending and receiving ////////////////////////////////
+
+    // This method sends a complete message in one signal
+    public static void send(int type, MapLocation loc, int aux, int payload, int radiusSquared) throws Exception {
+        RobotPlayer.rc.broadcastMessageSignal(encodeHeader(type, RobotPlayer.rc.getRoundNum(), aux),
+                encodeBody(loc, payload), radiusSquared);
+    }
+
+    // This method drains the signal queue and decodes every message from our team into the per type slots.
+    // It is called once at the start of every turn so that no role can throw away signals meant for another.
+    public static void readSignals() {
+        RobotController rc = RobotPlayer.rc;
+        Signal[] signals = rc.emptySignalQueue();
+        Team us = rc.getTeam();
+        int round = rc.getRoundNum();
+        int[] counts = receivedCount;
+
+        // clear last turn's counts
+        for (int i = NUM_TYPES; --i >= 0; ) {
+            counts[i] = 0;
+        }
+        int inbox = 0;
+        int basic = 0;
+
+        // walk the queue forwards so that later signals overwrite earlier ones in the latest slots
+        int length = signals.length;
+        for (int i = 0; i < length; i++) {
+            Signal signal = signals[i];
+            // make sure that the signal is from a bot on our team
+            if (signal.getTeam() != us) continue;
+            // every signal tells us where an ally was, the broadcast planner sizes our signals from this
+            Broadcaster.noteAlly(signal.getID(), signal.getLocation(), round);
+            int[] msg = signal.getMessage();
+            // basic signals have no message, just note where they came from
+            if (msg == null) {
+                if (basic < MAX_INBOX) {
+                    MapLocation from = signal.getLocation();
+                    basicX[basic] = from.x;
+                    basicY[basic] = from.y;
+                    basicSender[basic] = signal.getID();
+                    basic++;
+                }
+                continue;
+            }
+
+            int header = msg[0];
+            int type = header >>> 26;
+            if (type == 0 || type >= NUM_TYPES) continue;
+
+            counts[type]++;
+            lastRound[type] = round;
+            latestLocation[type] = locationOf(msg[1]);
+            latestStamp[type] = (header >>> 14) & 0xFFF;
+            latestAux[type] = header & 0x3FFF;
+            latestPayload[type] = msg[1] & 0xFFFF;
+            latestSender[type] = signal.getID();
+
+            if (inbox < MAX_INBOX) {
+                inboxHeader[inbox] = header;
+                inboxBody[inbox] = msg[1];
+                inboxSender[inbox] = signal.getID();
+                inbox++;
+            }
+        }
+        inboxCount = inbox;
+        basicCount = basic;
+    }
+
+    // This method returns the location of the latest message of this type if one arrived this turn, otherwise null
+    public static MapLocation heardThisTurn(int type) {
+        if (receivedCount[type] == 0) return null;
+        return latestLocation[type];
+    }
+}
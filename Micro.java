@@ -0,0 +1,140 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class decides how a unit moves when hostiles are close: stay and fight, kite, or flee.
+//
+// Every turn we work out how dangerous each of the 9 tiles we could end the turn on is (the 8 neighbours and
+// staying put).  Every hostile in the sensing cache adds the damage it does per turn to each tile inside its attack
+// radius, and STEP_WEIGHT of that to each tile it could reach by taking one step first.  Then
+//   - units that can't fight back, or are badly hurt, flee to the safest tile
+//   - fighters whose weapon is cooling down step out of range and come back when it is ready again (kiting),
+//     preferring tiles that still leave something in our own range
+//   - fighters whose weapon is ready are left to the controller, which shoots or closes in
+// It costs 9 distance checks per hostile, with one cheap check to skip hostiles that are too far away to matter.
+public class Micro {
+
+    // the index of staying put in the danger array, 0 to 7 are the directions in RobotPlayer.directions order
+    public static final int STAY = 8;
+    // how much a hostile that has to take a step before it can hit a tile counts for
+    public static final double STEP_WEIGHT = Params.values[Params.STEP_WEIGHT];
+    // fighters below this share of their health flee instead of kiting
+    public static final double FLEE_HEALTH = Params.values[Params.FLEE_HEALTH];
+
+    // how dangerous each tile is this turn, filled by computeDanger()
+    public static double[] danger = new double[9];
+
+    // offsets of the 9 tiles, STAY is Direction.NONE
+    private static final int[] DX = Tables.DX;
+    private static final int[] DY = Tables.DY;
+    // for each RobotType, the attack radius squared widened by one step, and by two steps, the second is how far a
+    // hostile can be from us and still be a threat to one of our neighbouring tiles
+    private static final int[] STEP_RANGE = new int[RobotType.values().length];
+    private static final int[] FAR_RANGE = new int[RobotType.values().length];
+
+    static {
+        RobotType[] types = RobotType.values();
+        for (int t = types.length; --t >= 0; ) {
+            double reach = Math.sqrt(types[t].attackRadiusSquared);
+            STEP_RANGE[t] = (int) ((reach + 1) * (reach + 1));
+            FAR_RANGE[t] = (int) ((reach + 2) * (reach + 2));
+        }
+    }
+
+    // This method moves us out of danger if we should, it returns true if we moved
+    public static boolean reposition() throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        if (!rc.isCoreReady()) return false;
+        if (!computeDanger() || danger[STAY] == 0) return false;
+
+        RobotType type = rc.getType();
+        boolean fighter = type.canAttack();
+        boolean hurt = rc.getHealth() < type.maxHealth * FLEE_HEALTH;
+
+        // a fighter with a loaded weapon stays in the fight, the controller shoots or moves in
+        if (fighter && !hurt && rc.isWeaponReady()) return false;
+
+        int best = safest(fighter && !hurt);
+        if (best == STAY) return false;
+        rc.move(RobotPlayer.directions[best]);
+        return true;
+    }
+
+    // This method fills danger[] for the 9 tiles around us, it returns false if none of them are in danger
+    public static boolean computeDanger() {
+        double[] d = danger;
+        for (int k = 9; --k >= 0; ) {
+            d[k] = 0;
+        }
+        MapLocation here = RobotPlayer.rc.getLocation();
+        boolean any = addThreats(here, RobotPlayer.enemies, RobotPlayer.enemyCount);
+        if (addThreats(here, RobotPlayer.zombies, RobotPlayer.zombieCount)) any = true;
+        return any;
+    }
+
+    // This method adds the danger from a list of hostiles, it returns true if any of them threaten us
+    private static boolean addThreats(MapLocation here, RobotInfo[] hostiles, int count) {
+        double[] d = danger;
+        boolean any = false;
+        for (int i = count; --i >= 0; ) {
+            RobotInfo hostile = hostiles[i];
+            RobotType type = hostile.type;
+            if (type.attackPower <= 0) continue;
+            int dx0 = hostile.location.x - here.x;
+            int dy0 = hostile.location.y - here.y;
+            int t = type.ordinal();
+            if (dx0 * dx0 + dy0 * dy0 > FAR_RANGE[t]) continue;
+
+            double perTurn = type.attackPower / type.attackDelay;
+            double stepped = perTurn * STEP_WEIGHT;
+            int range = type.attackRadiusSquared;
+            int stepRange = STEP_RANGE[t];
+            for (int k = 9; --k >= 0; ) {
+                int dx = dx0 - DX[k];
+                int dy = dy0 - DY[k];
+                int dist = dx * dx + dy * dy;
+                if (dist <= range) d[k] += perTurn;
+                else if (dist <= stepRange) d[k] += stepped;
+            }
+            any = true;
+        }
+        return any;
+    }
+
+    // This method returns the tile we can move to with the least danger, or STAY if none is safer than where we are.
+    // When kiting, ties go to tiles that leave a hostile inside our own attack range so we can shoot again.
+    private static int safest(boolean kiting) {
+        RobotController rc = RobotPlayer.rc;
+        double[] d = danger;
+        int best = STAY;
+        double stay = d[STAY];
+        double bestScore = stay;
+        int range = rc.getType().attackRadiusSquared;
+        MapLocation here = rc.getLocation();
+        for (int k = 8; --k >= 0; ) {
+            double score = d[k];
+            // only move if it actually gets us somewhere safer
+            if (score >= stay || score > bestScore) continue;
+            if (!rc.canMove(RobotPlayer.directions[k])) continue;
+            if (kiting && canStillShoot(here.x + DX[k], here.y + DY[k], range)) score -= 0.01;
+            if (score < bestScore) {
+                bestScore = score;
+                best = k;
+            }
+        }
+        return best;
+    }
+
+    // This method returns true if some hostile is inside our attack range from x, y
+    private static boolean canStillShoot(int x, int y, int range) {
+        for (int i = RobotPlayer.enemyCount; --i >= 0; ) {
+            MapLocation loc = RobotPlayer.enemies[i].location;
+            if ((loc.x - x) * (loc.x - x) + (loc.y - y) * (loc.y - y) <= range) return true;
+        }
+        for (int i = RobotPlayer.zombieCount; --i >= 0; ) {
+            MapLocation loc = RobotPlayer.zombies[i].location;
+            if ((loc.x - x) * (loc.x - x) + (loc.y - y) * (loc.y - y) <= range) return true;
+        }
+        return false;
+    }
+}
@@ -0,0 +1,436 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class gets units to a target location without wasting turns digging through rubble or bouncing off walls.
+//
+// It combines two techniques:
+//   1. Bug navigation, which costs almost nothing: walk straight at the target and when something is in the way
+//      follow the obstacle (keeping it on our right) until we are closer to the target than when we hit it.
+//   2. A bounded A* search over a window of tiles around us that weighs rubble by how many turns it would take
+//      to clear below GameConstants.RUBBLE_OBSTRUCTION_THRESH.  The search is expensive so it is run a few nodes at
+//      a time as a Scheduler task and picks up where it left off next turn.  Once it finishes we follow its path,
+//      and until then bug navigation keeps us moving.  Bug navigation may have taken us off the path by then, so
+//      we look for ourselves anywhere along the rest of it and step back onto it if we are next to it.
+public class Navigation {
+
+    // the search window is a square of (2 * RADIUS + 1) tiles on each side centered where the search started
+    public static final int RADIUS = 7;
+    public static final int WIDTH = 2 * RADIUS + 1;
+    public static final int NODES = WIDTH * WIDTH;
+
+    // movement costs, a diagonal move takes 1.4 times as long as a straight one
+    public static final int STRAIGHT_COST = 10;
+    public static final int DIAGONAL_COST = 14;
+    // each turn spent clearing rubble costs about as much as one straight move
+    public static final int CLEAR_COST = 10;
+    // rubble that takes longer than this many turns to clear is treated as a wall
+    public static final int MAX_CLEAR_TURNS = 12;
+    // rubble that takes at most this many turns to clear is cheaper to dig through than to walk around
+    public static final int CHEAP_CLEAR_TURNS = 2;
+
+    // how many nodes the search expands per Scheduler step and in total
+    public static final int EXPANSIONS_PER_STEP = 6;
+    public static final int MAX_EXPANSIONS = 200;
+    // how often we search again even if we are still on the last path, counted from when the search finished
+    public static final int REPLAN_INTERVAL = 25;
+    // if the target moves further than this (distance squared) from the one we searched for we search again
+    public static final int TARGET_MOVED_DISTANCE = 8;
+    // give up following a wall after this many turns and dig instead
+    public static final int BUG_GIVE_UP_TURNS = 30;
+
+    // where we are trying to go
+    public static MapLocation target;
+
+    ///////////////////////////////  Bug navigation state  ////////////////////////////////
+
+    // true while we are following an obstacle
+    private static boolean following = false;
+    // the direction we last moved while following the obstacle
+    private static Direction bugHeading;
+    // distance squared to the target when we hit the obstacle
+    private static int bugStartDistance;
+    // how many turns we have been following the obstacle
+    private static int bugTurns;
+
+    ///////////////////////////////  Search state  ////////////////////////////////
+
+    // each search gets a new id so we never have to clear the arrays below, a node belongs to the current search
+    // only if its stamp matches
+    private static int searchId = 0;
+    private static int[] seen = new int[NODES];
+    private static int[] closed = new int[NODES];
+    private static int[] gScore = new int[NODES];
+    private static int[] parent = new int[NODES];
+    // the cost of entering each tile, sensed at most once per search
+    private static int[] enterCost = new int[NODES];
+    private static int[] costKnown = new int[NODES];
+
+    // open list as a binary heap, each entry is (f << 10) | node so plain int comparisons order it
+    private static final int HEAP_SIZE = NODES * 4;
+    private static int[] heap = new int[HEAP_SIZE];
+    private static int heapSize = 0;
+
+    // bottom left corner of the window in map coordinates
+    private static int baseX;
+    private static int baseY;
+    // the target we are searching towards and the round the last search finished, a search takes many turns so
+    // the path would be too old to use if we counted from when it started
+    private static MapLocation searchTarget;
+    private static int searchRound = -1000;
+    private static int expansions;
+    private static boolean searching = false;
+    // the expanded node closest to the target, used when the target is outside the window
+    private static int bestNode;
+    private static int bestH;
+
+    // the finished path in map coordinates, pathX[0], pathY[0] is where the search started
+    private static final int MAX_PATH = NODES;
+    private static int[] pathX = new int[MAX_PATH];
+    private static int[] pathY = new int[MAX_PATH];
+    private static int pathLength = 0;
+    private static int pathIndex = 0;
+
+    // the Scheduler runs the search a few nodes at a time in spare bytecodes
+    private static Task searchTask = new Task(EXPANSIONS_PER_STEP * 700) {
+        public boolean step() throws Exception {
+            return searchStep();
+        }
+    };
+
+    /////////////////////////////// Moving ////////////////////////////////////////////
+
+    // This method takes one step towards the target, it returns true if we moved or cleared rubble
+    public static boolean goTo(MapLocation newTarget) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+
+        // a new target wipes our memory of the old one
+        if (target == null || !target.equals(newTarget)) {
+            target = newTarget;
+            following = false;
+        }
+        if (here.equals(target)) return false;
+
+        // search again if the target moved a lot or the path is getting old
+        int round = rc.getRoundNum();
+        if (pathLength > 0 && (searchTarget.distanceSquaredTo(target) > TARGET_MOVED_DISTANCE
+                || round - searchRound > REPLAN_INTERVAL)) {
+            pathLength = 0;
+        }
+
+        // follow the path if we have one and we are still on it
+        if (pathLength > 0) {
+            if (followPath(here)) return true;
+        }
+
+        return bugStep(here);
+    }
+
+    // This method follows the finished A* path, it returns true if it moved or cleared rubble
+    private static boolean followPath(MapLocation here) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        // find where we are on the rest of the path.  We are normally at pathIndex, but bug navigation kept us
+        // moving while the search ran and other robots push us around, so look all the way along it.  If we aren't
+        // on it step onto the furthest tile of it that is next to us.
+        int found = -1;
+        int next = -1;
+        int last = pathLength - 1;
+        for (int i = last; i >= pathIndex; i--) {
+            int dx = pathX[i] - here.x;
+            int dy = pathY[i] - here.y;
+            if (dx == 0 && dy == 0) {
+                found = i;
+                break;
+            }
+            if (next < 0 && dx >= -1 && dx <= 1 && dy >= -1 && dy <= 1) next = i;
+        }
+        if (found >= 0) next = found + 1;
+        // we have fallen off the path or finished it
+        if (found == last || next < 0) {
+            pathLength = 0;
+            return false;
+        }
+        pathIndex = found >= 0 ? found : next;
+
+        Direction dir = Tables.offsetDirection(pathX[next] - here.x, pathY[next] - here.y);
+        if (rc.canMove(dir)) {
+            rc.move(dir);
+            if (Trace.ENABLED) Trace.note(Trace.PATH, target);
+            return true;
+        }
+        // the path was planned through this rubble so dig
+        MapLocation tile = MapMemory.location(pathX[next], pathY[next]);
+        if (rc.senseRubble(tile) >= GameConstants.RUBBLE_OBSTRUCTION_THRESH) {
+            rc.clearRubble(dir);
+            if (Trace.ENABLED) Trace.note(Trace.CLEAR, tile);
+            return true;
+        }
+        // a robot is in the way, let bug navigation step around it this turn
+        return false;
+    }
+
+    // This method takes one step of bug navigation, it returns true if it moved or cleared rubble
+    private static boolean bugStep(MapLocation here) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        Direction direct = here.directionTo(target);
+        int distance = here.distanceSquaredTo(target);
+
+        if (following) {
+            // we can stop following once we are closer than where we hit the obstacle and the way is clear
+            if (distance < bugStartDistance && rc.canMove(direct)) {
+                following = false;
+            } else if (++bugTurns > BUG_GIVE_UP_TURNS) {
+                // we have been going around for too long, dig straight through instead
+                following = false;
+                if (clearIfRubble(here, direct, MAX_CLEAR_TURNS)) return true;
+            }
+        }
+
+        if (!following) {
+            // head straight there, or 45 degrees off if that still gets us closer
+            if (rc.canMove(direct)) {
+                rc.move(direct);
+                return true;
+            }
+            Direction left = direct.rotateLeft();
+            if (rc.canMove(left) && closer(here, left, distance)) {
+                rc.move(left);
+                return true;
+            }
+            Direction right = direct.rotateRight();
+            if (rc.canMove(right) && closer(here, right, distance)) {
+                rc.move(right);
+                return true;
+            }
+            // a little rubble is quicker to dig through than to walk around
+            if (clearIfRubble(here, direct, CHEAP_CLEAR_TURNS)) return true;
+
+            // start following the obstacle and ask for a proper path around it
+            following = true;
+            bugHeading = direct;
+            bugStartDistance = distance;
+            bugTurns = 0;
+            startSearch(here);
+        }
+
+        // keep the obstacle on our right: start looking from where the wall was and turn left until we can move
+        Direction dir = bugHeading.rotateRight().rotateRight();
+        for (int i = 0; i < 8; i++) {
+            if (rc.canMove(dir)) {
+                rc.move(dir);
+                bugHeading = dir;
+                return true;
+            }
+            dir = dir.rotateLeft();
+        }
+        return false;
+    }
+
+    // This method returns true if a step in dir takes us closer to the target than distance, without building the
+    // MapLocation we would end up on
+    private static boolean closer(MapLocation here, Direction dir, int distance) {
+        int dx = here.x + Tables.DX[dir.ordinal()] - target.x;
+        int dy = here.y + Tables.DY[dir.ordinal()] - target.y;
+        return dx * dx + dy * dy < distance;
+    }
+
+    // This method clears rubble in a direction if there is rubble there that takes at most maxTurns to clear
+    private static boolean clearIfRubble(MapLocation here, Direction dir, int maxTurns) throws Exception {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation next = MapMemory.location(here.x + Tables.DX[dir.ordinal()], here.y + Tables.DY[dir.ordinal()]);
+        double rubble = rc.senseRubble(next);
+        if (rubble < GameConstants.RUBBLE_OBSTRUCTION_THRESH || clearTurns(rubble) > maxTurns) return false;
+        if (!rc.onTheMap(next)) return false;
+        rc.clearRubble(dir);
+        if (Trace.ENABLED) Trace.note(Trace.CLEAR, next);
+        return true;
+    }
+
+    // This method returns how many clearRubble() calls it takes to get rubble below the obstruction threshold
+    public static int clearTurns(double rubble) {
+        return clearTurns(rubble, MAX_CLEAR_TURNS);
+    }
+
+    // This method is clearTurns() but it stops counting once it gets past maxTurns
+    public static int clearTurns(double rubble, int maxTurns) {
+        int turns = 0;
+        while (rubble >= GameConstants.RUBBLE_OBSTRUCTION_THRESH && turns <= maxTurns) {
+            rubble -= rubble * GameConstants.RUBBLE_CLEAR_PERCENTAGE + GameConstants.RUBBLE_CLEAR_FLAT_AMOUNT;
+            turns++;
+        }
+        return turns;
+    }
+
+    /////////////////////////////// Searching ////////////////////////////////////////////
+
+    // This method starts a new search from here towards the target, the work happens in searchStep()
+    public static void startSearch(MapLocation here) {
+        searchId++;
+        searchTarget = target;
+        baseX = here.x - RADIUS;
+        baseY = here.y - RADIUS;
+        expansions = 0;
+        heapSize = 0;
+        pathLength = 0;
+
+        int start = RADIUS * WIDTH + RADIUS;
+        seen[start] = searchId;
+        gScore[start] = 0;
+        parent[start] = -1;
+        bestNode = start;
+        bestH = heuristic(here.x, here.y);
+        push((bestH << 10) | start);
+
+        searching = true;
+        if (!Scheduler.isQueued(searchTask)) Scheduler.add(searchTask);
+    }
+
+    // This method expands a few nodes of the search, it returns true if the search isn't done yet
+    private static boolean searchStep() throws Exception {
+        if (!searching) return false;
+        int id = searchId;
+
+        for (int n = EXPANSIONS_PER_STEP; --n >= 0; ) {
+            if (heapSize == 0 || expansions >= MAX_EXPANSIONS) {
+                finishSearch(bestNode);
+                return false;
+            }
+            int node = pop() & 0x3FF;
+            if (closed[node] == id) continue;
+            closed[node] = id;
+            expansions++;
+
+            int nodeX = node / WIDTH;
+            int nodeY = node % WIDTH;
+            int h = heuristic(baseX + nodeX, baseY + nodeY);
+            if (h == 0) {
+                finishSearch(node);
+                return false;
+            }
+            if (h < bestH) {
+                bestH = h;
+                bestNode = node;
+            }
+
+            int g = gScore[node];
+            // look at all 8 neighbors that are inside the window
+            for (int dx = -1; dx <= 1; dx++) {
+                int nx = nodeX + dx;
+                if (nx < 0 || nx >= WIDTH) continue;
+                for (int dy = -1; dy <= 1; dy++) {
+                    if (dx == 0 && dy == 0) continue;
+                    int ny = nodeY + dy;
+                    if (ny < 0 || ny >= WIDTH) continue;
+                    int next = nx * WIDTH + ny;
+                    if (closed[next] == id) continue;
+
+                    int cost = tileCost(next, nx, ny);
+                    if (cost < 0) continue;
+                    int tentative = g + ((dx != 0 && dy != 0) ? DIAGONAL_COST : STRAIGHT_COST) * cost / 10;
+                    if (seen[next] != id || tentative < gScore[next]) {
+                        seen[next] = id;
+                        gScore[next] = tentative;
+                        parent[next] = node;
+                        push(((tentative + heuristic(baseX + nx, baseY + ny)) << 10) | next);
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    // This method returns the cost of entering a tile scaled so 10 is a plain move, or -1 if we can't go there
+    private static int tileCost(int node, int nx, int ny) throws Exception {
+        if (costKnown[node] == searchId) return enterCost[node];
+        RobotController rc = RobotPlayer.rc;
+        int x = baseX + nx;
+        int y = baseY + ny;
+        MapLocation loc = MapMemory.location(x, y);
+        int cost;
+        double rubble;
+        if (rc.canSenseLocation(loc)) {
+            if (!rc.onTheMap(loc)) rubble = -1;
+            else rubble = rc.senseRubble(loc);
+        } else if (MapMemory.onMap(x, y)) {
+            // we can't see it now but we may remember it, rubbleAt() gives 0 or more if we do
+            rubble = MapMemory.rubbleAt(x, y);
+            if (rubble < 0) rubble = 0;
+        } else {
+            rubble = -1;
+        }
+        if (rubble < 0) {
+            cost = -1;
+        } else if (rubble >= GameConstants.RUBBLE_OBSTRUCTION_THRESH) {
+            int turns = clearTurns(rubble);
+            cost = turns > MAX_CLEAR_TURNS ? -1 : 10 + turns * CLEAR_COST;
+        } else if (rubble >= GameConstants.RUBBLE_SLOW_THRESH) {
+            // moving onto rubble above the slow threshold takes twice as long
+            cost = 20;
+        } else {
+            // includes tiles we have never seen, we are optimistic about those
+            cost = 10;
+        }
+        costKnown[node] = searchId;
+        enterCost[node] = cost;
+        return cost;
+    }
+
+    // This method is the A* heuristic, the diagonal distance to the target in movement cost units
+    private static int heuristic(int x, int y) {
+        int dx = x - searchTarget.x;
+        int dy = y - searchTarget.y;
+        if (dx < 0) dx = -dx;
+        if (dy < 0) dy = -dy;
+        return dx > dy ? dy * DIAGONAL_COST + (dx - dy) * STRAIGHT_COST : dx * DIAGONAL_COST + (dy - dx) * STRAIGHT_COST;
+    }
+
+    // This method walks the parents back from the end node to build the path
+    private static void finishSearch(int end) {
+        searching = false;
+        searchRound = RobotPlayer.rc.getRoundNum();
+        int length = 0;
+        for (int node = end; node >= 0; node = parent[node]) {
+            length++;
+        }
+        int i = length;
+        for (int node = end; node >= 0; node = parent[node]) {
+            i--;
+            pathX[i] = baseX + node / WIDTH;
+            pathY[i] = baseY + node % WIDTH;
+        }
+        // a path that is just where we started is no use
+        pathLength = length > 1 ? length : 0;
+        pathIndex = 0;
+    }
+
+    /////////////////////////////// Heap ////////////////////////////////////////////
+
+    private static void push(int entry) {
+        if (heapSize == HEAP_SIZE) return;
+        int i = heapSize++;
+        while (i > 0) {
+            int up = (i - 1) >> 1;
+            if (heap[up] <= entry) break;
+            heap[i] = heap[up];
+            i = up;
+        }
+        heap[i] = entry;
+    }
+
+    private static int pop() {
+        int top = heap[0];
+        int entry = heap[--heapSize];
+        int i = 0;
+        int half = heapSize >> 1;
+        while (i < half) {
+            int child = 2 * i + 1;
+            if (child + 1 < heapSize && heap[child + 1] < heap[child]) child++;
+            if (entry <= heap[child]) break;
+            heap[i] = heap[child];
+            i = child;
+        }
+        heap[i] = entry;
+        return top;
+    }
+}
@@ -0,0 +1,45 @@
+package BasicExample;
+
+// This class holds the strategy constants we are least sure about as one vector of numbers so they can be tuned.
+//
+// Every tunable has an index, a default, and a range it is allowed to take.  The classes that use one copy it into
+// a static final field when they are first loaded, e.g.
+//     public static final double STEP_WEIGHT = Params.values[Params.STEP_WEIGHT];
+// so reading a tunable costs nothing during a turn.
+//
+// In a real match values is always DEFAULTS.  The offline tuner (harness/Tune.java) gives every robot on a team its
+// own vector before the robot's classes are loaded, plays lots of matches against the defaults and prints the best
+// vector it finds, which gets pasted into DEFAULTS here.
+public class Params {
+
+    // chance each turn that a wandering unit picks a new direction
+    public static final int WANDER_CHANCE = 0;
+    // how much a hostile that has to take a step before it can hit a tile counts for, see Micro
+    public static final int STEP_WEIGHT = 1;
+    // fighters below this share of their health flee instead of kiting, see Micro
+    public static final int FLEE_HEALTH = 2;
+    // how many turns an Archon saves up for the unit it wants instead of building a cheaper one, see BuildPlanner
+    public static final int RESERVE_WAIT_TURNS = 3;
+    // the round the mid game army composition starts on, see BuildPlanner
+    public static final int MID_GAME_ROUND = 4;
+    // how much better a spot has to be before a turret packs up to move there, see Deployment
+    public static final int DEPLOY_MIN_GAIN = 5;
+    // how much each wall next to a turret spot adds to it, see Deployment
+    public static final int COVER_VALUE = 6;
+    // a wave doing at least this much damage per turn at each den is a big one, see ZombieForecast
+    public static final int BIG_WAVE_DPS = 7;
+
+    public static final int COUNT = 8;
+
+    // names for reports, in index order
+    public static final String[] NAMES = {"wanderChance", "stepWeight", "fleeHealth", "reserveWaitTurns",
+            "midGameRound", "deployMinGain", "coverValue", "bigWaveDps"};
+
+    //                                       wander  step  flee  reserve  mid    gain  cover  wave
+    public static final double[] DEFAULTS = {0.10,   0.5,  0.3,  10,      300,   20,   0.15,  8};
+    public static final double[] MIN =      {0.02,   0.0,  0.1,  0,       100,   0,    0.0,   2};
+    public static final double[] MAX =      {0.50,   1.0,  0.6,  40,      800,   80,   0.5,   20};
+
+    // the vector this robot uses, the tuner replaces it before any other class reads it
+    public static double[] values = DEFAULTS.clone();
+}
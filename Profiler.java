@@ -0,0 +1,130 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class measures how many bytecodes each named section of our code uses.
+//
+// Every call site is written as
+//     if (Profiler.ENABLED) Profiler.begin(Profiler.MOVE);
+// so when ENABLED is false the java compiler removes the whole statement and the profiler costs nothing at all.
+// Flip ENABLED to true, run a match and read the summary from the indicator strings or the console.
+//
+// Costs are kept per robot type (a turret and a TTM are the same robot but different types) as min/avg/max over the
+// last REPORT_INTERVAL rounds.  The "turn" section only covers the mandatory part of the turn, not the spare work
+// the Scheduler runs afterwards.  Turns that ran past the bytecode limit and got cut off before Clock.yield() are
+// counted as overruns.
+public class Profiler {
+
+    // set this to true to turn profiling on
+    public static final boolean ENABLED = false;
+    // how many rounds between summaries, the stats are reset after each summary
+    public static final int REPORT_INTERVAL = 100;
+    // set this to true to also print each summary to the console
+    public static final boolean PRINT_SUMMARY = true;
+
+    // These constants name the sections we measure
+    public static final int TURN = 0;
+    public static final int SENSE = 1;
+    public static final int MESSAGES = 2;
+    public static final int RUN = 3;
+    public static final int MOVE = 4;
+    public static final int SHOOT = 5;
+    public static final int SCOUT_MESSAGES = 6;
+    public static final int NUM_SECTIONS = 7;
+    public static final String[] SECTION_NAMES = {"turn", "sense", "msgs", "run", "move", "shoot", "scoutMsgs"};
+
+    // one row of sections per robot type
+    private static final int NUM_TYPES = RobotType.values().length;
+
+    // the round and bytecode count when each section was started
+    private static int[] beginRound = new int[NUM_SECTIONS];
+    private static int[] beginBytecodes = new int[NUM_SECTIONS];
+    // the type we were when each section was started
+    private static int[] beginType = new int[NUM_SECTIONS];
+
+    // stats, indexed by type * NUM_SECTIONS + section
+    private static int[] min = new int[NUM_TYPES * NUM_SECTIONS];
+    private static int[] max = new int[NUM_TYPES * NUM_SECTIONS];
+    private static long[] total = new long[NUM_TYPES * NUM_SECTIONS];
+    private static int[] samples = new int[NUM_TYPES * NUM_SECTIONS];
+
+    // the round our last turn started on, used to notice turns that were cut off
+    private static int lastTurnRound = -1;
+    // the number of turns that were cut off since the last summary
+    private static int overruns = 0;
+    // the round of the last summary
+    private static int lastReportRound = 0;
+
+    // This method is called at the very top of each turn
+    public static void startTurn() {
+        int round = RobotPlayer.rc.getRoundNum();
+        // if we didn't get here on the very next round our last turn ran out of bytecodes
+        if (lastTurnRound >= 0 && round != lastTurnRound + 1) {
+            overruns++;
+        }
+        lastTurnRound = round;
+        begin(TURN);
+    }
+
+    // building the summary string is expensive so it is done as spare work by the Scheduler
+    private static Task reportTask = new Task(3000) {
+        public boolean step() {
+            report();
+            return false;
+        }
+    };
+
+    // This method is called when the mandatory part of our turn is done, before the Scheduler runs spare work
+    public static void endTurn() {
+        end(TURN);
+        int round = RobotPlayer.rc.getRoundNum();
+        if (round - lastReportRound >= REPORT_INTERVAL && !Scheduler.isQueued(reportTask)) {
+            Scheduler.add(reportTask);
+            lastReportRound = round;
+        }
+    }
+
+    public static void begin(int section) {
+        beginRound[section] = RobotPlayer.rc.getRoundNum();
+        beginBytecodes[section] = Bytecodes.used();
+        beginType[section] = RobotPlayer.rc.getType().ordinal();
+    }
+
+    public static void end(int section) {
+        RobotController rc = RobotPlayer.rc;
+        // if we were cut off in the middle of the section the round will have changed, so count the whole turns we lost
+        int cost = (rc.getRoundNum() - beginRound[section]) * rc.getType().bytecodeLimit
+                + Bytecodes.used() - beginBytecodes[section];
+        int slot = beginType[section] * NUM_SECTIONS + section;
+        if (samples[slot] == 0 || cost < min[slot]) min[slot] = cost;
+        if (cost > max[slot]) max[slot] = cost;
+        total[slot] += cost;
+        samples[slot]++;
+    }
+
+    // This method shows min/avg/max for every section we have samples for and then resets the stats
+    public static void report() {
+        RobotController rc = RobotPlayer.rc;
+        int type = rc.getType().ordinal();
+        StringBuilder line = new StringBuilder();
+        line.append(rc.getType()).append(" r").append(rc.getRoundNum()).append(" over=").append(overruns);
+        for (int section = 0; section < NUM_SECTIONS; section++) {
+            int slot = type * NUM_SECTIONS + section;
+            if (samples[slot] == 0) continue;
+            line.append(' ').append(SECTION_NAMES[section]).append('=')
+                    .append(min[slot]).append('/').append(total[slot] / samples[slot]).append('/').append(max[slot]);
+        }
+        String summary = line.toString();
+
+        rc.setIndicatorString(0, summary);
+        if (PRINT_SUMMARY) System.out.println(summary);
+
+        // start a fresh window
+        for (int i = samples.length; --i >= 0; ) {
+            samples[i] = 0;
+            total[i] = 0;
+            max[i] = 0;
+        }
+        overruns = 0;
+    }
+}
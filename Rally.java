@@ -0,0 +1,140 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class pulls our fighters together instead of letting them trickle into fights one at a time.
+//
+// Distress calls: an Archon that is in danger sends an urgent DISTRESS message every DISTRESS_INTERVAL rounds with
+// how much danger it is in.  Fighters that hear one drop what they are doing and go to its defense, picking the
+// call in the most danger if they hear several.  Calls expire DISTRESS_TTL rounds after they were sent.
+//
+// Squads: before advancing on an objective (an enemy archon or a zombie den) a fighter looks at the fighters around
+// it.  The one with the lowest ID is the squad leader, so every unit in a group agrees on the leader without any
+// messages.  Until the squad's strength (the damage per turn of all its fighters) reaches SQUAD_STRENGTH the leader
+// falls back towards home, where new units come from, and everyone else closes in on it, then they all advance
+// together.
+public class Rally {
+
+    // how often an Archon in danger repeats its call for help
+    public static final int DISTRESS_INTERVAL = 8;
+    // calls older than this are ignored
+    public static final int DISTRESS_TTL = 20;
+    // how far a call for help reaches
+    public static final int DISTRESS_RADIUS_SQUARED = 400;
+    // the damage per turn a squad needs before it advances, about four soldiers
+    public static final double SQUAD_STRENGTH = 8;
+    // fighters within this distance squared of the leader count towards the squad
+    public static final int SQUAD_RADIUS_SQUARED = 24;
+    // followers this close to the leader head for the objective themselves instead of the leader
+    public static final int FOLLOW_RADIUS_SQUARED = 8;
+
+    // the call for help we are answering
+    public static MapLocation distressLocation;
+    private static int distressRound = -1000;
+    private static int distressPriority;
+    private static int distressSender;
+    // the last round our Archon called for help
+    private static int lastCallRound = -1000;
+
+    // the squad we belong to, updated by formSquad()
+    public static int leaderId;
+    public static MapLocation leaderLocation;
+    public static double strength;
+    private static int squadRound = -1;
+
+    /////////////////////////////// Distress ////////////////////////////////////////////
+
+    // This method is called by Archons every turn and calls for help if we are in danger
+    public static void callForHelp() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        if (round - lastCallRound < DISTRESS_INTERVAL) return;
+        if (RobotPlayer.enemyCount == 0 && RobotPlayer.zombieCount == RobotPlayer.zombieDenCount) return;
+        if (!Micro.computeDanger() || Micro.danger[Micro.STAY] == 0) return;
+
+        int priority = Math.min((int) (Micro.danger[Micro.STAY] * 10), 0x3FFF);
+        Broadcaster.queueUrgent(Messaging.DISTRESS, rc.getLocation(), priority, (int) rc.getHealth(),
+                DISTRESS_RADIUS_SQUARED);
+        lastCallRound = round;
+    }
+
+    // This method picks up calls for help, fighters call it every turn so none are missed
+    public static void readMessages() {
+        if (Messaging.receivedCount[Messaging.DISTRESS] == 0) return;
+        int round = RobotPlayer.rc.getRoundNum();
+        boolean current = round - distressRound <= DISTRESS_TTL;
+        for (int m = Messaging.inboxCount; --m >= 0; ) {
+            int header = Messaging.inboxHeader[m];
+            if (Messaging.typeOf(header) != Messaging.DISTRESS) continue;
+            int priority = Messaging.auxOf(header);
+            // take the call if it is an update from the Archon we are helping, or it is in more danger
+            if (current && Messaging.inboxSender[m] != distressSender && priority <= distressPriority) continue;
+            distressLocation = Messaging.locationOf(Messaging.inboxBody[m]);
+            distressRound = round;
+            distressPriority = priority;
+            distressSender = Messaging.inboxSender[m];
+            current = true;
+        }
+    }
+
+    // This method returns the location of the Archon we should go and help, or null if nobody needs us
+    public static MapLocation distressCall() {
+        if (distressLocation == null) return null;
+        if (RobotPlayer.rc.getRoundNum() - distressRound > DISTRESS_TTL) {
+            distressLocation = null;
+            return null;
+        }
+        return distressLocation;
+    }
+
+    /////////////////////////////// Squads ////////////////////////////////////////////
+
+    // This method finds our squad leader and adds up the squad's strength, once per round
+    public static void formSquad() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        if (round == squadRound) return;
+        squadRound = round;
+
+        RobotType myType = rc.getType();
+        leaderId = rc.getID();
+        leaderLocation = rc.getLocation();
+        // the allies come from the sensing cache
+        RobotInfo[] allies = RobotPlayer.allies;
+        int allyCount = RobotPlayer.allyCount;
+        for (int i = allyCount; --i >= 0; ) {
+            RobotInfo ally = allies[i];
+            if (ally.type.canAttack() && ally.type != RobotType.TURRET && ally.ID < leaderId) {
+                leaderId = ally.ID;
+                leaderLocation = ally.location;
+            }
+        }
+
+        strength = myType.attackPower / myType.attackDelay;
+        for (int i = allyCount; --i >= 0; ) {
+            RobotInfo ally = allies[i];
+            if (ally.type.canAttack() && ally.type != RobotType.TURRET
+                    && ally.location.distanceSquaredTo(leaderLocation) <= SQUAD_RADIUS_SQUARED) {
+                strength += ally.type.attackPower / ally.type.attackDelay;
+            }
+        }
+    }
+
+    // This method returns where we should head on the way to an objective: the objective itself once the squad is
+    // strong enough, otherwise the leader, or home if we are the leader
+    public static MapLocation advanceOn(MapLocation objective) {
+        formSquad();
+        MapLocation here = RobotPlayer.rc.getLocation();
+        if (strength >= SQUAD_STRENGTH) {
+            // stay with the leader as we go so the squad arrives together
+            if (here.distanceSquaredTo(leaderLocation) > FOLLOW_RADIUS_SQUARED) return leaderLocation;
+            return objective;
+        }
+        // the leader waits for the squad near home and holds still once it is there
+        if (leaderId == RobotPlayer.rc.getID()) {
+            MapLocation home = Broadcaster.home();
+            return here.distanceSquaredTo(home) > SQUAD_RADIUS_SQUARED ? home : here;
+        }
+        return leaderLocation;
+    }
+}
@@ -0,0 +1,71 @@
+package BasicExample;
+
+// This class runs optional background work in the bytecodes a robot has left after its mandatory actions.
+//
+// Attacking and moving always happen first in the run methods.  Just before Clock.yield() RobotPlayer calls
+// runSpare() which keeps stepping queued Tasks round robin for as long as the bytecodes left stay above the
+// task's step cost plus SAFETY_MARGIN.  Anything that doesn't fit carries over to the next turn, so an idle unit
+// such as a turret with no targets gets through its queue quickly and a unit in a fight never overruns its turn.
+public class Scheduler {
+
+    // bytecodes we always keep in reserve for the end of the turn
+    public static final int SAFETY_MARGIN = 300;
+    // the most tasks that can be queued at once
+    public static final int MAX_TASKS = 32;
+
+    // circular queue of pending tasks
+    private static Task[] queue = new Task[MAX_TASKS];
+    private static int head = 0;
+    private static int size = 0;
+
+    // This method queues a task, it returns false if the queue is full
+    public static boolean add(Task task) {
+        if (size == MAX_TASKS) return false;
+        queue[(head + size) % MAX_TASKS] = task;
+        size++;
+        return true;
+    }
+
+    // This method returns true if the task is already waiting in the queue
+    public static boolean isQueued(Task task) {
+        for (int i = size; --i >= 0; ) {
+            if (queue[(head + i) % MAX_TASKS] == task) return true;
+        }
+        return false;
+    }
+
+    // This method returns the number of tasks waiting to run
+    public static int pending() {
+        return size;
+    }
+
+    // This method runs queued tasks until we run out of spare bytecodes or out of tasks
+    public static void runSpare() {
+        int round = RobotPlayer.rc.getRoundNum();
+        while (size > 0) {
+            Task task = queue[head];
+            // stop if this step might push us past the end of the turn, it will get another chance next turn
+            if (Bytecodes.left() < task.stepCost + SAFETY_MARGIN) return;
+
+            // take it off the front of the queue
+            queue[head] = null;
+            head = (head + 1) % MAX_TASKS;
+            size--;
+
+            boolean moreWork;
+            try {
+                moreWork = task.step();
+            } catch (Exception e) {
+                // a broken task is dropped instead of being retried every turn
+                System.out.println(e.getMessage());
+                e.printStackTrace();
+                moreWork = false;
+            }
+            // tasks that aren't finished go to the back so everybody gets a turn
+            if (moreWork) add(task);
+
+            // if we got cut off the round has changed and we are already over budget
+            if (RobotPlayer.rc.getRoundNum() != round) return;
+        }
+    }
+}
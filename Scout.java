@@ -0,0 +1,96 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+import static BasicExample.RobotPlayer.*;
+
+// This class controls our Scouts.
+// Scouts head for the nearest part of the map none of our scouts have explored yet, see Explorer.  They also
+// broadcast when they see a zombie den or an enemy archon.  A scout that finds one of our turrets without a spotter
+// while there are hostiles the turret can shoot but can't see stays with it and tells it about them, until it has
+// had nothing to tell it for a while, see Spotter.  They also plan the corridors through rubble
+// that idle units dig out, see Corridor.
+public class Scout {
+
+    // the area around our starting archons that scout reports must cover
+    public static final int HOME_RADIUS_SQUARED = 64;
+
+    // This method is where we control our scouts
+    public static void run() throws Exception {
+        // tell our turret what we can see that it can't, it only shoots what it hears about this turn so we do this
+        // even when we can't move
+        Spotter.stream();
+        // keep track of what we and the other scouts have explored, messages only last the turn they arrive
+        Explorer.update();
+        // we have seen more of the map than anybody, so plan corridors through the rubble for the army
+        Corridor.plan();
+
+        if (!rc.isCoreReady()) return;
+
+        // broadcast if we see anything, the planner sends what we queue at the end of the turn
+        sendMessages();
+
+        // we have no weapon so get away from anything that can hit us first
+        if (Micro.reposition()) return;
+
+        // spotters stay next to their turret instead of exploring
+        if (Spotter.hover()) return;
+
+        // head for the nearest sector nobody has explored
+        updateDirection();
+
+        // try to move the scout
+        scoutMove(currentDirection);
+    }
+
+    // This method is used by scouts to set the next direction of travel
+    // scouts head for the nearest unexplored sector and only wander at random if there is nowhere left to go
+    public static void updateDirection() throws Exception {
+        // TODO: add code to "follow" enemy Archon's reporting their location
+
+        MapLocation target = Explorer.nextTarget();
+        if (target != null) {
+            currentDirection = rc.getLocation().directionTo(target);
+            return;
+        }
+
+        // if we will be going off the map then switch directions
+        if (currentDirection == null || !rc.onTheMap(rc.getLocation().add(currentDirection, 3))) {
+            currentDirection = directions[rand.nextInt(8)];
+        }
+    }
+
+    // This method is used by scouts to send out what they have seen of enemy archons, zombie dens, parts and neutrals
+    public static void sendMessages() throws Exception {
+        if (Profiler.ENABLED) Profiler.begin(Profiler.SCOUT_MESSAGES);
+
+        // our army spreads out from home so make sure news reaches that far, the planner widens this to cover any
+        // allies it has heard from and holds back repeats of what we already said
+        int homeReach = Broadcaster.regionRadiusSquared(Broadcaster.home(), HOME_RADIUS_SQUARED);
+
+        // the knowledge base has already recorded everything we can see, including what has gone since we last
+        // looked, so we just pass on what changed
+        Knowledge.publish(homeReach);
+        // and tell the other scouts where we have been so they look somewhere else
+        Explorer.publish();
+        if (Profiler.ENABLED) Profiler.end(Profiler.SCOUT_MESSAGES);
+    }
+
+    // This method is used to move scouts who can ignore rubble
+    public static boolean scoutMove(Direction direction) throws Exception {
+        if (!rc.isCoreReady()) return false;
+
+        int d = direction.ordinal();
+        if (d >= 8) return false;
+
+        // try the desired direction first and then the ones closest to it, alternating left and right
+        Direction[] probe = Tables.PROBE_DIRECTIONS[d];
+        for (int i = 0; i < 8; i++) {
+            if (rc.canMove(probe[i])) {
+                rc.move(probe[i]);
+                return true;
+            }
+        }
+        return false;
+    }
+}
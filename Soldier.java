@@ -0,0 +1,71 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+import static BasicExample.RobotPlayer.*;
+
+// This class controls our Soldiers.
+// Soldiers shoot the best target Targeting finds in range, and Micro kites them out of range while their weapon cools
+// down or pulls them out when they are badly hurt.  They answer any Archon calling for help first, otherwise they
+// head for the nearest enemy archon our team has seen recently once their squad is strong enough (see Rally).  With
+// nowhere to go they dig out corridor tiles (see Corridor) or wander.
+public class Soldier {
+
+    // This variable is used to save the enemy Archon location we are heading for
+    public static MapLocation enemyArchon;
+
+    // This method is where we control our soldiers
+    public static void run() throws Exception {
+        // listen for Archons calling for help and keep up with the corridor tiles being dug
+        Rally.readMessages();
+        Corridor.readMessages();
+
+        // set soldier move direction
+        changeDirection();
+
+        // try to attack
+        boolean shot = rc.isWeaponReady() && shootEnemies();
+
+        // step out of range while our weapon cools down, or run if we are badly hurt
+        if (Micro.reposition());
+            // with nothing to do dig out a corridor tile, otherwise try to move if we don't shoot
+        else if (!shot && rc.isCoreReady() && (Corridor.work() || travel()));
+    }
+
+    // This method sets the direction the solider is to move in next
+    // the current strategy is to defend any Archon calling for help, otherwise to listen for a message about enemy
+    // archon locations and if we hear of one to move towards it with our squad, otherwise we move randomly
+    public static void changeDirection() throws Exception {
+        // an Archon calling for help comes before everything else
+        MapLocation help = Rally.distressCall();
+        if (help != null) {
+            currentDirection = rc.getLocation().directionTo(help);
+            currentTarget = help;
+            return;
+        }
+
+        // TODO: if we see enemies charge? or clump? maybe based on # of allies and enemies
+        //       (Micro already kites while our weapon cools down and flees when we are badly hurt)
+
+        // head for the nearest enemy archon our team has seen recently, archons move so old sightings don't count
+        // and the knowledge base drops sightings once someone sees the archon has gone
+        enemyArchon = Knowledge.nearest(Messaging.ENEMY_ARCHON, Knowledge.ENEMY_ARCHON_TTL);
+
+        // if we know of an enemy archon we do not want to go in a random direction
+        if (enemyArchon == null) {
+            // TODO: don't pick directions randomly... just don't!
+
+            // randomly determine if we should change our direction to widen the range that we will sweep
+            // only change direction WANDER_CHANCE of the time
+            if (rand.nextDouble() < WANDER_CHANCE || currentDirection == null) {
+                // pick a random direction if it is time to change direction.
+                currentDirection = directions[rand.nextInt(8)];
+            }
+            currentTarget = null;
+        } else {
+            // set our direction to be towards the enemy archon's position, waiting for our squad first
+            currentDirection = rc.getLocation().directionTo(enemyArchon);
+            currentTarget = Rally.advanceOn(enemyArchon);
+        }
+    }
+}
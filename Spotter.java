@@ -0,0 +1,229 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class lets scouts act as eyes for our turrets.
+//
+// A turret can shoot much further (attackRadiusSquared 48) than it can see (sensorRadiusSquared 24).  A scout that
+// sees well past that attaches itself to a turret, hovers next to it, and every turn sends it the hostiles that are
+// inside the turret's attack range but outside its sensor range.  The turret scores those the same way as the
+// hostiles it can see and shoots whichever is best.
+//
+// A scout attaches to the nearest turret (or TTM, which will become one) it can see that has no other scout closer
+// to it, so every scout in a group works out the same pairing without any messages.  It only attaches when that
+// turret has a hostile in its attack range it can't see, and it lets go again once it has had nothing to send for
+// RELEASE_ROUNDS, so turrets don't take scouts away from exploring for good.
+//
+// Two hostiles fit in one SPOTTED message:
+//
+//     header aux: [ type1 : 4 ][ health1 : 3 ][ type2 : 4 ][ health2 : 3 ]
+//     body:       the first hostile's location, payload [ dx2 + 128 : 8 ][ dy2 + 128 : 8 ]
+//
+// where type is RobotType.ordinal() + 1 (0 means there is no second hostile), health is the eighth of its max health
+// it has left, and dx2, dy2 is the second hostile's offset from the first.
+public class Spotter {
+
+    // how close a spotter stays to its turret
+    public static final int HOVER_RADIUS_SQUARED = 8;
+    // the most SPOTTED messages a spotter sends per turn, all the Broadcaster sends in one turn
+    public static final int MAX_SIGNALS_PER_TURN = Broadcaster.MAX_PER_TURN;
+    // the most spotted hostiles a turret remembers per turn
+    public static final int MAX_REMOTE = 16;
+    // a spotter goes back to exploring after this many rounds with nothing to send
+    public static final int RELEASE_ROUNDS = 20;
+
+    // the turret we are spotting for, or -1 if we aren't a spotter
+    public static int turretId = -1;
+    public static MapLocation turretLocation;
+    // the last round we had something to tell our turret
+    private static int usefulRound = -1000;
+
+    // hostiles our spotters told us about this turn
+    public static MapLocation[] remoteLocation = new MapLocation[MAX_REMOTE];
+    public static RobotType[] remoteType = new RobotType[MAX_REMOTE];
+    public static double[] remoteHealth = new double[MAX_REMOTE];
+    public static int remoteCount = 0;
+
+    /////////////////////////////// Scouts ////////////////////////////////////////////
+
+    // This method attaches us to a turret and sends it what it can't see, scouts call it every turn
+    public static void stream() throws Exception {
+        if (!attach()) return;
+
+        int sensorRange = RobotType.TURRET.sensorRadiusSquared;
+        int attackRange = RobotType.TURRET.attackRadiusSquared;
+        RobotInfo pending = null;
+        int signals = 0;
+
+        // enemies first so they are the ones that get through if there are too many to send
+        for (int pass = 0; pass < 2 && signals < MAX_SIGNALS_PER_TURN; pass++) {
+            RobotInfo[] hostiles = pass == 0 ? RobotPlayer.enemies : RobotPlayer.zombies;
+            int count = pass == 0 ? RobotPlayer.enemyCount : RobotPlayer.zombieCount;
+            for (int i = count; --i >= 0 && signals < MAX_SIGNALS_PER_TURN; ) {
+                RobotInfo hostile = hostiles[i];
+                int distance = turretLocation.distanceSquaredTo(hostile.location);
+                if (distance <= sensorRange || distance > attackRange) continue;
+                if (pending == null) {
+                    pending = hostile;
+                    continue;
+                }
+                send(pending, hostile);
+                pending = null;
+                signals++;
+            }
+        }
+        if (pending != null && signals < MAX_SIGNALS_PER_TURN) {
+            send(pending, null);
+            signals++;
+        }
+        if (signals > 0) usefulRound = RobotPlayer.rc.getRoundNum();
+    }
+
+    // This method keeps a spotter next to its turret, it returns true if we are a spotter
+    public static boolean hover() throws Exception {
+        if (turretId < 0) return false;
+        RobotController rc = RobotPlayer.rc;
+        if (rc.getLocation().distanceSquaredTo(turretLocation) > HOVER_RADIUS_SQUARED) {
+            Scout.scoutMove(rc.getLocation().directionTo(turretLocation));
+        }
+        return true;
+    }
+
+    // This method finds the turret we spot for, it returns false if there isn't one
+    private static boolean attach() {
+        RobotController rc = RobotPlayer.rc;
+        int round = rc.getRoundNum();
+        // with no hostiles in view there is nothing to spot, a spotter just waits for its release
+        if (turretId < 0 && RobotPlayer.enemyCount + RobotPlayer.zombieCount == 0) return false;
+        // the allies come from the sensing cache
+        RobotInfo[] allies = RobotPlayer.allies;
+        int allyCount = RobotPlayer.allyCount;
+        MapLocation here = rc.getLocation();
+
+        // stay with our turret if we can still see it and have been some use to it lately
+        if (turretId >= 0 && round - usefulRound <= RELEASE_ROUNDS) {
+            for (int i = allyCount; --i >= 0; ) {
+                if (allies[i].ID == turretId) {
+                    turretLocation = allies[i].location;
+                    return true;
+                }
+            }
+        }
+
+        // only take on a turret that needs us right now
+        turretId = -1;
+        int bestDistance = Integer.MAX_VALUE;
+        for (int i = allyCount; --i >= 0; ) {
+            RobotInfo turret = allies[i];
+            if (turret.type != RobotType.TURRET && turret.type != RobotType.TTM) continue;
+            int distance = here.distanceSquaredTo(turret.location);
+            if (distance >= bestDistance || otherScoutCloser(allies, allyCount, turret.location, distance)) continue;
+            if (!hiddenFrom(turret.location)) continue;
+            bestDistance = distance;
+            turretId = turret.ID;
+            turretLocation = turret.location;
+        }
+        if (turretId >= 0) usefulRound = round;
+        return turretId >= 0;
+    }
+
+    // This method returns true if we can see a hostile a turret at loc could shoot but can't see
+    private static boolean hiddenFrom(MapLocation loc) {
+        int sensorRange = RobotType.TURRET.sensorRadiusSquared;
+        int attackRange = RobotType.TURRET.attackRadiusSquared;
+        for (int pass = 0; pass < 2; pass++) {
+            RobotInfo[] hostiles = pass == 0 ? RobotPlayer.enemies : RobotPlayer.zombies;
+            int count = pass == 0 ? RobotPlayer.enemyCount : RobotPlayer.zombieCount;
+            for (int i = count; --i >= 0; ) {
+                int distance = loc.distanceSquaredTo(hostiles[i].location);
+                if (distance > sensorRange && distance <= attackRange) return true;
+            }
+        }
+        return false;
+    }
+
+    // This method returns true if another of our scouts is closer to a turret than we are
+    private static boolean otherScoutCloser(RobotInfo[] allies, int allyCount, MapLocation turret, int distance) {
+        for (int i = allyCount; --i >= 0; ) {
+            if (allies[i].type == RobotType.SCOUT && allies[i].location.distanceSquaredTo(turret) < distance) return true;
+        }
+        return false;
+    }
+
+    // This method sends one or two spotted hostiles in a single signal that reaches at least our turret.  It goes
+    // through the Broadcaster at the front of the queue so it is sent at the end of this turn, ahead of anything
+    // less pressing, and is never dropped as a repeat since the turret needs it again every turn.
+    private static void send(RobotInfo first, RobotInfo second) throws Exception {
+        int aux = (encodeHostile(first) << 7) | (second == null ? 0 : encodeHostile(second));
+        int payload = 0;
+        if (second != null) {
+            payload = ((second.location.x - first.location.x + 128) << 8) | (second.location.y - first.location.y + 128);
+        }
+        int radiusSquared = Math.max(Broadcaster.freeRadiusSquared(), RobotPlayer.rc.getLocation().distanceSquaredTo(turretLocation));
+        Broadcaster.queueUrgent(Messaging.SPOTTED, first.location, aux, payload, radiusSquared);
+    }
+
+    private static int encodeHostile(RobotInfo hostile) {
+        int health = Math.min(7, (int) (hostile.health * 8 / hostile.maxHealth));
+        return ((hostile.type.ordinal() + 1) << 3) | health;
+    }
+
+    /////////////////////////////// Turrets ////////////////////////////////////////////
+
+    // This method collects the hostiles our spotters sent this turn, turrets call it every turn
+    public static void readMessages() {
+        remoteCount = 0;
+        if (Messaging.receivedCount[Messaging.SPOTTED] == 0) return;
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int range = rc.getType().attackRadiusSquared;
+        int round = rc.getRoundNum() & 0xFFF;
+        RobotType[] types = Tables.TYPES;
+
+        for (int m = Messaging.inboxCount; --m >= 0 && remoteCount < MAX_REMOTE - 1; ) {
+            int header = Messaging.inboxHeader[m];
+            if (Messaging.typeOf(header) != Messaging.SPOTTED) continue;
+            // hostiles move, anything older than last round is no use
+            if (((round - Messaging.roundOf(header)) & 0xFFF) > 1) continue;
+            int body = Messaging.inboxBody[m];
+            int aux = Messaging.auxOf(header);
+            MapLocation first = Messaging.locationOf(body);
+            addRemote(here, range, first, aux >>> 7, types);
+            int second = aux & 0x7F;
+            if (second != 0) {
+                int payload = Messaging.payloadOf(body);
+                addRemote(here, range, first.add((payload >>> 8) - 128, (payload & 0xFF) - 128), second, types);
+            }
+        }
+    }
+
+    private static void addRemote(MapLocation here, int range, MapLocation loc, int code, RobotType[] types) {
+        if (here.distanceSquaredTo(loc) > range) return;
+        RobotType type = types[(code >>> 3) - 1];
+        remoteLocation[remoteCount] = loc;
+        remoteType[remoteCount] = type;
+        remoteHealth[remoteCount] = ((code & 7) + 0.5) * type.maxHealth / 8;
+        remoteCount++;
+    }
+
+    // This method returns the best spotted hostile we can shoot if it beats scoreToBeat, otherwise null
+    public static MapLocation selectRemoteTarget(double scoreToBeat) {
+        if (remoteCount == 0) return null;
+        RobotController rc = RobotPlayer.rc;
+        RobotType myType = rc.getType();
+        double[] weights = Targeting.weightsFor(myType);
+        double damage = myType.attackPower;
+        MapLocation best = null;
+        double bestScore = scoreToBeat;
+        for (int i = remoteCount; --i >= 0; ) {
+            RobotType type = remoteType[i];
+            double score = Targeting.score(type, remoteHealth[i], type.attackPower, weights, damage);
+            if (!type.isZombie) score += weights[Targeting.ENEMY];
+            if (score > bestScore && rc.canAttackLocation(remoteLocation[i])) {
+                best = remoteLocation[i];
+                bestScore = score;
+            }
+        }
+        return best;
+    }
+}
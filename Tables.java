@@ -0,0 +1,116 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class holds lookup tables that are built once so the code that runs every turn doesn't have to work the same
+// things out, or allocate objects, again and again.
+//
+//   - DX and DY, the offsets of the 8 directions (plus staying put) indexed by Direction.ordinal()
+//   - OFFSET_DIRECTIONS, the direction of a step by its offsets, so we don't need a MapLocation to call directionTo()
+//   - PROBE, the order to try directions in when the one we want is blocked: straight on, then alternating left and
+//     right, and PROBE_DIRECTIONS with that order already applied to each of the 8 starting directions
+//   - the offsets of every tile inside a sensor radius, built the first time each radius is asked for
+//   - both teams' initial archon locations, which never change but cost a call and a new array each time we ask
+//   - TYPES, RobotType.values() which also builds a new array every time it is called
+//   - scratch arrays for methods that need a temporary buffer
+public class Tables {
+
+    // every robot type by ordinal
+    public static final RobotType[] TYPES = RobotType.values();
+
+    // offsets of each direction by ordinal, index 8 is Direction.NONE which is staying put
+    public static final int[] DX = new int[9];
+    public static final int[] DY = new int[9];
+    // OFFSET_DIRECTIONS[(dx + 1) * 3 + dy + 1] is the direction of a step of dx, dy, see offsetDirection()
+    public static final Direction[] OFFSET_DIRECTIONS = new Direction[9];
+
+    // how far to turn from the direction we want, in eighths of a turn, straight on first and then alternating
+    // left and right
+    public static final int[] PROBE = {0, 7, 1, 6, 2, 5, 3, 4};
+    // PROBE_DIRECTIONS[d][i] is the i'th direction to try when we want to go in direction d
+    public static final Direction[][] PROBE_DIRECTIONS = new Direction[8][8];
+
+    // the most different sensor radii we build offset lists for, there are only a handful of robot types
+    public static final int MAX_DISKS = 8;
+    // the biggest buffer the scratch arrays have to hold, enough for the tiles in any sensor radius
+    public static final int SCRATCH_SIZE = 256;
+
+    // offset lists built so far and the radius squared each is for
+    private static int[] diskRadius = new int[MAX_DISKS];
+    private static int[][] diskDx = new int[MAX_DISKS][];
+    private static int[][] diskDy = new int[MAX_DISKS][];
+    private static int diskCount = 0;
+
+    // initial archon locations, filled by init()
+    public static MapLocation[] ourArchons;
+    public static MapLocation[] theirArchons;
+
+    // temporary buffers, a method that uses them must be done with them before it returns
+    public static int[] scratchX = new int[SCRATCH_SIZE];
+    public static int[] scratchY = new int[SCRATCH_SIZE];
+
+    static {
+        Direction[] directions = RobotPlayer.directions;
+        for (int d = 8; --d >= 0; ) {
+            DX[d] = directions[d].dx;
+            DY[d] = directions[d].dy;
+            OFFSET_DIRECTIONS[(DX[d] + 1) * 3 + DY[d] + 1] = directions[d];
+            for (int i = 8; --i >= 0; ) {
+                PROBE_DIRECTIONS[d][i] = directions[(d + PROBE[i]) & 7];
+            }
+        }
+    }
+
+    // This method returns the direction of a step of dx, dy where both are -1, 0 or 1
+    public static Direction offsetDirection(int dx, int dy) {
+        return dx == 0 && dy == 0 ? Direction.NONE : OFFSET_DIRECTIONS[(dx + 1) * 3 + dy + 1];
+    }
+
+    // This method caches everything that needs the RobotController, it is called once when the robot starts
+    public static void init() {
+        RobotController rc = RobotPlayer.rc;
+        ourArchons = rc.getInitialArchonLocations(rc.getTeam());
+        theirArchons = rc.getInitialArchonLocations(rc.getTeam().opponent());
+    }
+
+    // This method returns the x offsets of every tile within radiusSquared, diskDy() returns the matching y offsets
+    public static int[] diskDx(int radiusSquared) {
+        return diskDx[disk(radiusSquared)];
+    }
+
+    public static int[] diskDy(int radiusSquared) {
+        return diskDy[disk(radiusSquared)];
+    }
+
+    // This method returns the slot of the offset lists for a radius, building them the first time
+    private static int disk(int radiusSquared) {
+        for (int i = diskCount; --i >= 0; ) {
+            if (diskRadius[i] == radiusSquared) return i;
+        }
+
+        int reach = (int) Math.sqrt(radiusSquared);
+        int[] dxs = scratchX;
+        int[] dys = scratchY;
+        int count = 0;
+        for (int dx = -reach; dx <= reach; dx++) {
+            for (int dy = -reach; dy <= reach; dy++) {
+                if (dx * dx + dy * dy <= radiusSquared) {
+                    dxs[count] = dx;
+                    dys[count] = dy;
+                    count++;
+                }
+            }
+        }
+        int[] diskX = new int[count];
+        int[] diskY = new int[count];
+        System.arraycopy(dxs, 0, diskX, 0, count);
+        System.arraycopy(dys, 0, diskY, 0, count);
+
+        // every robot type has a radius of its own so we never run out of slots, but reuse the last one if we do
+        int slot = diskCount < MAX_DISKS ? diskCount++ : MAX_DISKS - 1;
+        diskRadius[slot] = radiusSquared;
+        diskDx[slot] = diskX;
+        diskDy[slot] = diskY;
+        return slot;
+    }
+}
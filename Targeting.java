@@ -0,0 +1,112 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class picks what to shoot.
+//
+// It makes one pass over the hostiles in attack range from the sensing cache and scores each one on
+//   - how much of its remaining health our shot takes off
+//   - how dangerous it is (attack power per turn of attack delay)
+//   - whether our shot will finish it off
+//   - whether it is a high value type (enemy archons and zombie dens)
+//   - whether it is on the enemy team rather than a zombie
+//   - whether it is the hostile we shot last turn, see Tracker, so we finish what we started instead of spreading
+//     our damage over everything that walks into range
+// Each attacking type weighs these differently, for example vipers care mostly about enemies because infecting a
+// zombie does nothing and turrets care most about threats because they can't run away.
+public class Targeting {
+
+    // These constants name the columns of the weight tables
+    public static final int DAMAGE = 0;
+    public static final int THREAT = 1;
+    public static final int KILL = 2;
+    public static final int ARCHON = 3;
+    public static final int DEN = 4;
+    public static final int ENEMY = 5;
+    public static final int COMMITTED = 6;
+
+    // weight tables, one row per attacking type
+    //                                              damage  threat  kill  archon   den  enemy  committed
+    public static final double[] DEFAULT_WEIGHTS = {10,     1,      10,   20,      1,   2,     5};
+    public static final double[] SOLDIER_WEIGHTS = {10,     1.5,    15,   25,      1,   2,     6};
+    public static final double[] GUARD_WEIGHTS =   {8,      2,      10,   15,      4,   0,     6};
+    public static final double[] VIPER_WEIGHTS =   {4,      1,      5,    30,      0,   30,    1};
+    public static final double[] TURRET_WEIGHTS =  {10,     3,      20,   25,      2,   2,     6};
+
+    // the score of the target selectTarget() last returned, or -1 if it found nothing
+    public static double selectedScore = -1;
+
+    // This method returns the best hostile we can attack this turn, or null if we can't attack anything
+    public static RobotInfo selectTarget() {
+        RobotController rc = RobotPlayer.rc;
+        RobotType myType = rc.getType();
+        double[] weights = weightsFor(myType);
+        double damage = myType.attackPower;
+
+        RobotInfo best = null;
+        double bestScore = -1;
+
+        // enemies first and then zombies, it is the same pass over two arrays
+        RobotInfo[] targets = RobotPlayer.enemiesInAttackRange;
+        for (int i = RobotPlayer.enemiesInAttackRangeCount; --i >= 0; ) {
+            RobotInfo target = targets[i];
+            double score = score(target, weights, damage) + weights[ENEMY];
+            if (Tracker.isCommitted(target.ID)) score += weights[COMMITTED];
+            // only ask the engine about targets that would beat the best one so far
+            if (score > bestScore && rc.canAttackLocation(target.location)) {
+                best = target;
+                bestScore = score;
+            }
+        }
+        targets = RobotPlayer.zombiesInAttackRange;
+        for (int i = RobotPlayer.zombiesInAttackRangeCount; --i >= 0; ) {
+            RobotInfo target = targets[i];
+            double score = score(target, weights, damage);
+            if (Tracker.isCommitted(target.ID)) score += weights[COMMITTED];
+            if (score > bestScore && rc.canAttackLocation(target.location)) {
+                best = target;
+                bestScore = score;
+            }
+        }
+        selectedScore = bestScore;
+        return best;
+    }
+
+    // This method scores a single target, higher is better
+    public static double score(RobotInfo target, double[] weights, double damage) {
+        return score(target.type, target.health, target.attackPower, weights, damage);
+    }
+
+    // This method scores a target we only know the type and health of, such as one a scout spotted for us
+    public static double score(RobotType type, double health, double attackPower, double[] weights, double damage) {
+        double score = 0;
+
+        // fraction of its remaining health our shot takes off
+        score += weights[DAMAGE] * (damage >= health ? 1 : damage / health);
+        // damage it deals per turn
+        if (type.attackDelay > 0) score += weights[THREAT] * attackPower / type.attackDelay;
+        // a shot that kills removes its damage from the fight right away
+        if (damage >= health) score += weights[KILL];
+
+        if (type == RobotType.ARCHON) score += weights[ARCHON];
+        else if (type == RobotType.ZOMBIEDEN) score += weights[DEN];
+
+        return score;
+    }
+
+    // This method returns the weight table for an attacking type
+    public static double[] weightsFor(RobotType type) {
+        switch (type) {
+            case SOLDIER:
+                return SOLDIER_WEIGHTS;
+            case GUARD:
+                return GUARD_WEIGHTS;
+            case VIPER:
+                return VIPER_WEIGHTS;
+            case TURRET:
+                return TURRET_WEIGHTS;
+            default:
+                return DEFAULT_WEIGHTS;
+        }
+    }
+}
@@ -0,0 +1,17 @@
+package BasicExample;
+
+// A Task is a piece of optional background work that the Scheduler runs with whatever bytecodes are left over at the
+// end of a turn.  Big jobs should be broken up so that each call to step() does a small, bounded amount of work and
+// keeps its progress in fields so it can pick up where it left off next turn.
+public abstract class Task {
+
+    // roughly how many bytecodes one call to step() can use, the Scheduler won't start a step it can't finish
+    public int stepCost;
+
+    public Task(int stepCost) {
+        this.stepCost = stepCost;
+    }
+
+    // This method does one step of work and returns true if there is more work left to do
+    public abstract boolean step() throws Exception;
+}
@@ -0,0 +1,155 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class records what a robot decided every turn so we can work out afterwards why a match went badly, without
+// paying for string formatting on every turn.
+//
+// Every call site is written like the Profiler's
+//     if (Trace.ENABLED) Trace.note(Trace.ATTACK, location);
+// so when ENABLED is false the java compiler removes the whole statement and tracing costs nothing at all.
+//
+// With it on, every turn adds one record of RECORD_INTS ints to a ring buffer that is allocated once:
+//     word 0: [ round : 12 ][ action : 4 ][ direction : 4 ][ type : 4 ][ unused : 8 ]
+//     word 1: where we ended the turn, x in the top 16 bits and y in the bottom 16
+//     word 2: what we acted on, or where we were heading if we didn't act, packed the same way or NO_TARGET
+//     word 3: bytecodes the turn used, counting whole turns lost to running out
+// direction is the way we moved this turn, Direction.NONE if we didn't.  Moves are noticed by comparing where we
+// ended the turn with where we started it so only the other actions need a call site.
+//
+// When FLUSH_AT records are waiting the Scheduler writes them out with spare bytecodes as a single console line
+//     TRACE <robot id> <records>
+// where every int is 6 characters of 6 bits each, '0' + bits.  Records that get overwritten before they are
+// written out show up as gaps in the rounds.  harness/TraceAnalyzer reads these lines back out of a match log.
+public class Trace {
+
+    // set this to true to turn tracing on
+    public static final boolean ENABLED = false;
+
+    // These constants are the actions, a turn with more than one records the last
+    public static final int IDLE = 0;
+    public static final int MOVE = 1;
+    public static final int ATTACK = 2;
+    public static final int CLEAR = 3;
+    public static final int BUILD = 4;
+    public static final int ACTIVATE = 5;
+    public static final int PACK = 6;
+    public static final int UNPACK = 7;
+    // a move along a finished Navigation path rather than a bug navigation step
+    public static final int PATH = 8;
+    public static final String[] ACTION_NAMES = {"idle", "move", "attack", "clear", "build", "activate", "pack",
+            "unpack", "path"};
+
+    // ints per record and characters per int when written out
+    public static final int RECORD_INTS = 4;
+    public static final int CHARS_PER_INT = 6;
+    // records the ring buffer holds, and how many are waiting before we write them out
+    public static final int CAPACITY = 64;
+    public static final int FLUSH_AT = 32;
+    // records encoded per Scheduler step
+    public static final int RECORDS_PER_STEP = 8;
+    // a packed location no robot can be at
+    public static final int NO_TARGET = Integer.MIN_VALUE;
+    // the first word of every line we print
+    public static final String PREFIX = "TRACE";
+
+    // the records, record i starts at (i % CAPACITY) * RECORD_INTS
+    private static int[] ring = new int[CAPACITY * RECORD_INTS];
+    // records ever written, and ever written out
+    private static int written = 0;
+    private static int flushed = 0;
+
+    // the characters of the line being written out
+    private static char[] line = new char[CAPACITY * RECORD_INTS * CHARS_PER_INT];
+    private static int lineLength = 0;
+
+    // what we know about the current turn
+    private static int turnRound;
+    private static int startX;
+    private static int startY;
+    private static int action;
+    private static int target;
+
+    // writing out the records is done as spare work so it never pushes a turn over its limit
+    private static Task flushTask = new Task(RECORDS_PER_STEP * RECORD_INTS * CHARS_PER_INT * 12) {
+        public boolean step() {
+            return flush();
+        }
+    };
+
+    // This method packs a location into one int
+    public static int pack(int x, int y) {
+        return (x << 16) | (y & 0xFFFF);
+    }
+
+    // This method is called at the very top of each turn
+    public static void startTurn() {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        turnRound = rc.getRoundNum();
+        startX = here.x;
+        startY = here.y;
+        action = IDLE;
+        target = NO_TARGET;
+    }
+
+    // This method records that we did something to a location this turn
+    public static void note(int what, MapLocation location) {
+        action = what;
+        target = location == null ? NO_TARGET : pack(location.x, location.y);
+    }
+
+    // This method writes this turn's record, it is called when the mandatory part of our turn is done
+    public static void endTurn() {
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int dx = here.x - startX;
+        int dy = here.y - startY;
+        int direction = Direction.NONE.ordinal();
+        if (dx != 0 || dy != 0) {
+            direction = new MapLocation(startX, startY).directionTo(here).ordinal();
+            if (action == IDLE) action = MOVE;
+        }
+        if (target == NO_TARGET && RobotPlayer.currentTarget != null) {
+            target = pack(RobotPlayer.currentTarget.x, RobotPlayer.currentTarget.y);
+        }
+        // if we were cut off the round will have changed, so count the whole turns we lost
+        int bytecodes = (rc.getRoundNum() - turnRound) * rc.getType().bytecodeLimit + Bytecodes.used();
+
+        int at = (written % CAPACITY) * RECORD_INTS;
+        ring[at] = ((turnRound & 0xFFF) << 20) | (action << 16) | (direction << 12) | (rc.getType().ordinal() << 8);
+        ring[at + 1] = pack(here.x, here.y);
+        ring[at + 2] = target;
+        ring[at + 3] = bytecodes;
+        written++;
+
+        if (written - flushed >= FLUSH_AT && !Scheduler.isQueued(flushTask)) Scheduler.add(flushTask);
+    }
+
+    // This method encodes a few waiting records onto the line and prints the line once they are all encoded, it
+    // returns true if there are more to do
+    private static boolean flush() {
+        // records that were overwritten before we got to them are gone
+        if (written - flushed > CAPACITY) flushed = written - CAPACITY;
+
+        char[] chars = line;
+        int length = lineLength;
+        int end = Math.min(written, flushed + RECORDS_PER_STEP);
+        for (int r = flushed; r < end && length < chars.length; r++) {
+            int at = (r % CAPACITY) * RECORD_INTS;
+            for (int w = 0; w < RECORD_INTS; w++) {
+                int value = ring[at + w];
+                for (int shift = 30; shift >= 0; shift -= 6) {
+                    chars[length++] = (char) ('0' + ((value >>> shift) & 0x3F));
+                }
+            }
+            flushed++;
+        }
+        lineLength = length;
+        if (flushed < written && length < chars.length) return true;
+
+        System.out.println(PREFIX + " " + RobotPlayer.rc.getID() + " " + new String(chars, 0, length));
+        lineLength = 0;
+        return false;
+    }
+}
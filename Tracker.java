@@ -0,0 +1,244 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class remembers the hostiles we have seen from one turn to the next so we don't start from scratch every turn.
+//
+// Every hostile is kept by its robot id in an open addressing hash table of primitive parallel arrays: where we last
+// saw it, its health then, the round we saw it and how fast it is moving.  update() walks the sensing cache once a
+// turn and only touches the entries of the hostiles we can see, so it costs one short probe per hostile.
+//
+// Velocity is how far it moved divided by the rounds between the two sightings, averaged with the old estimate so a
+// single step to the side doesn't throw it off.  If we lose sight of a hostile for more than VELOCITY_ROUNDS we
+// don't know what it did in between so the estimate starts again from zero.
+//
+// Targeting uses the tracker to keep shooting the hostile we shot last turn rather than spreading our damage around,
+// and guards chase where the hostile they are after will be by the time they get there rather than where it is.
+// Attacks land the turn they are made so shots themselves never need leading.
+public class Tracker {
+
+    // slots in the table, a power of two so the hash is a mask
+    public static final int TABLE_SIZE = 128;
+    private static final int MASK = TABLE_SIZE - 1;
+    // once this many slots are in use the table is compacted down to at most KEEP entries, dropping the hostiles we
+    // haven't seen for FORGET_ROUNDS first and then the ones we saw longest ago
+    public static final int MAX_USED = 96;
+    public static final int KEEP = 64;
+    public static final int FORGET_ROUNDS = 20;
+    // sightings further apart than this don't give a velocity
+    public static final int VELOCITY_ROUNDS = 4;
+    // the furthest ahead we predict, in rounds, past this the estimate is a guess
+    public static final int MAX_LEAD_ROUNDS = 6;
+    // we stick with the hostile we shot last for this many rounds after the shot
+    public static final int COMMIT_ROUNDS = 3;
+
+    // the table, robot ids are never 0 so an id of 0 marks an empty slot
+    public static int[] id = new int[TABLE_SIZE];
+    public static int[] lastX = new int[TABLE_SIZE];
+    public static int[] lastY = new int[TABLE_SIZE];
+    public static double[] lastHealth = new double[TABLE_SIZE];
+    public static int[] lastSeen = new int[TABLE_SIZE];
+    // estimated tiles moved per round along each axis
+    public static double[] velocityX = new double[TABLE_SIZE];
+    public static double[] velocityY = new double[TABLE_SIZE];
+    public static int used = 0;
+
+    // compact() rebuilds the table into these and swaps them with the arrays above
+    private static int[] spareId = new int[TABLE_SIZE];
+    private static int[] spareX = new int[TABLE_SIZE];
+    private static int[] spareY = new int[TABLE_SIZE];
+    private static double[] spareHealth = new double[TABLE_SIZE];
+    private static int[] spareSeen = new int[TABLE_SIZE];
+    private static double[] spareVelocityX = new double[TABLE_SIZE];
+    private static double[] spareVelocityY = new double[TABLE_SIZE];
+    // how many entries were last seen this many rounds ago, for compact()
+    private static int[] ageCount = new int[FORGET_ROUNDS + 1];
+
+    // the hostile we attacked last and the round we did it, targetId is 0 if we haven't attacked anything
+    public static int targetId = 0;
+    public static int targetRound = -1000;
+
+    // This method brings the table up to date with the hostiles in the sensing cache, call it once a turn after
+    // RobotPlayer.senseWorld()
+    public static void update() {
+        int round = RobotPlayer.rc.getRoundNum();
+        if (used >= MAX_USED) compact(round);
+
+        for (int pass = 0; pass < 2; pass++) {
+            RobotInfo[] hostiles = pass == 0 ? RobotPlayer.enemies : RobotPlayer.zombies;
+            int count = pass == 0 ? RobotPlayer.enemyCount : RobotPlayer.zombieCount;
+            for (int i = count; --i >= 0; ) {
+                RobotInfo hostile = hostiles[i];
+                // dens never move so there is nothing to learn about them
+                if (hostile.type == RobotType.ZOMBIEDEN) continue;
+                see(hostile, round);
+            }
+        }
+    }
+
+    // This method records one sighting
+    private static void see(RobotInfo hostile, int round) {
+        int slot = slotFor(hostile.ID);
+        if (slot < 0) return;
+        int x = hostile.location.x;
+        int y = hostile.location.y;
+
+        if (id[slot] == 0) {
+            id[slot] = hostile.ID;
+            velocityX[slot] = 0;
+            velocityY[slot] = 0;
+            used++;
+        } else {
+            int rounds = round - lastSeen[slot];
+            if (rounds <= 0) return;
+            if (rounds <= VELOCITY_ROUNDS) {
+                velocityX[slot] = (velocityX[slot] + (double) (x - lastX[slot]) / rounds) / 2;
+                velocityY[slot] = (velocityY[slot] + (double) (y - lastY[slot]) / rounds) / 2;
+            } else {
+                velocityX[slot] = 0;
+                velocityY[slot] = 0;
+            }
+        }
+        lastX[slot] = x;
+        lastY[slot] = y;
+        lastHealth[slot] = hostile.health;
+        lastSeen[slot] = round;
+    }
+
+    // This method returns the slot holding robotId, or the empty slot it should go in, or -1 if the table is full
+    private static int slotFor(int robotId) {
+        int slot = robotId & MASK;
+        for (int probes = TABLE_SIZE; --probes >= 0; ) {
+            int held = id[slot];
+            if (held == robotId || held == 0) return slot;
+            slot = (slot + 1) & MASK;
+        }
+        return -1;
+    }
+
+    // This method returns the slot of a hostile we are tracking, or -1
+    public static int find(int robotId) {
+        int slot = slotFor(robotId);
+        if (slot < 0 || id[slot] == 0) return -1;
+        return slot;
+    }
+
+    // This method drops the hostiles we haven't seen for FORGET_ROUNDS, and if that isn't enough to get down to
+    // KEEP entries the oldest ones we have seen since as well.  Emptying slots in place would break the probe chains
+    // of the hostiles after them, so the entries we keep are put back into the spare arrays, which are then swapped
+    // with the live ones.  Nothing is allocated.
+    private static void compact(int round) {
+        // count the entries by age to find the oldest age we can keep
+        int[] ages = ageCount;
+        for (int a = FORGET_ROUNDS + 1; --a >= 0; ) {
+            ages[a] = 0;
+        }
+        for (int i = TABLE_SIZE; --i >= 0; ) {
+            if (id[i] == 0) continue;
+            int age = round - lastSeen[i];
+            if (age <= FORGET_ROUNDS) ages[age]++;
+        }
+        // we run before this turn's sightings, so what we saw last turn is always kept
+        int maxAge = 1;
+        int kept = ages[0] + ages[1];
+        while (maxAge < FORGET_ROUNDS && kept + ages[maxAge + 1] <= KEEP) {
+            kept += ages[++maxAge];
+        }
+
+        int[] oldId = id;
+        int[] oldX = lastX;
+        int[] oldY = lastY;
+        double[] oldHealth = lastHealth;
+        int[] oldSeen = lastSeen;
+        double[] oldVelocityX = velocityX;
+        double[] oldVelocityY = velocityY;
+        id = spareId;
+        lastX = spareX;
+        lastY = spareY;
+        lastHealth = spareHealth;
+        lastSeen = spareSeen;
+        velocityX = spareVelocityX;
+        velocityY = spareVelocityY;
+        spareId = oldId;
+        spareX = oldX;
+        spareY = oldY;
+        spareHealth = oldHealth;
+        spareSeen = oldSeen;
+        spareVelocityX = oldVelocityX;
+        spareVelocityY = oldVelocityY;
+
+        // only the ids need clearing, everything else is written when a slot is filled
+        for (int i = TABLE_SIZE; --i >= 0; ) {
+            id[i] = 0;
+        }
+        used = 0;
+        for (int i = TABLE_SIZE; --i >= 0; ) {
+            if (oldId[i] == 0 || round - oldSeen[i] > maxAge) continue;
+            int slot = slotFor(oldId[i]);
+            id[slot] = oldId[i];
+            lastX[slot] = oldX[i];
+            lastY[slot] = oldY[i];
+            lastHealth[slot] = oldHealth[i];
+            lastSeen[slot] = oldSeen[i];
+            velocityX[slot] = oldVelocityX[i];
+            velocityY[slot] = oldVelocityY[i];
+            used++;
+        }
+    }
+
+    // This method returns where the hostile in slot will be rounds from now if it keeps going the way it has been
+    public static MapLocation predict(int slot, int rounds) {
+        if (rounds > MAX_LEAD_ROUNDS) rounds = MAX_LEAD_ROUNDS;
+        int x = lastX[slot] + (int) Math.round(velocityX[slot] * rounds);
+        int y = lastY[slot] + (int) Math.round(velocityY[slot] * rounds);
+        return new MapLocation(x, y);
+    }
+
+    /////////////////////////////// Targets ////////////////////////////////////////////
+
+    // This method records that we attacked a hostile so we keep at it next turn
+    public static void noteAttack(RobotInfo target) {
+        targetId = target.ID;
+        targetRound = RobotPlayer.rc.getRoundNum();
+    }
+
+    // This method returns true if robotId is the hostile we have been shooting
+    public static boolean isCommitted(int robotId) {
+        return robotId == targetId && RobotPlayer.rc.getRoundNum() - targetRound <= COMMIT_ROUNDS;
+    }
+
+    // This method picks the hostile to chase from the sensing cache, the one we have been shooting if we can still
+    // see it and otherwise the nearest, and returns where we should head to meet it.  Enemies come before zombies.
+    // It returns null if we see nothing to chase.
+    public static MapLocation pursue() {
+        MapLocation here = RobotPlayer.rc.getLocation();
+        RobotInfo chase = null;
+        for (int pass = 0; pass < 2 && chase == null; pass++) {
+            RobotInfo[] hostiles = pass == 0 ? RobotPlayer.enemies : RobotPlayer.zombies;
+            int count = pass == 0 ? RobotPlayer.enemyCount : RobotPlayer.zombieCount;
+            int bestDistance = Integer.MAX_VALUE;
+            for (int i = count; --i >= 0; ) {
+                RobotInfo hostile = hostiles[i];
+                if (isCommitted(hostile.ID)) {
+                    chase = hostile;
+                    break;
+                }
+                int distance = here.distanceSquaredTo(hostile.location);
+                if (distance < bestDistance) {
+                    bestDistance = distance;
+                    chase = hostile;
+                }
+            }
+        }
+        if (chase == null) return null;
+
+        int slot = find(chase.ID);
+        if (slot < 0) return chase.location;
+        // lead it by about the number of moves it takes us to get there
+        int dx = Math.abs(chase.location.x - here.x);
+        int dy = Math.abs(chase.location.y - here.y);
+        int moves = dx > dy ? dx : dy;
+        int rounds = (int) (moves * RobotPlayer.rc.getType().movementDelay);
+        return predict(slot, rounds);
+    }
+}
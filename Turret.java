@@ -0,0 +1,54 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+import static BasicExample.RobotPlayer.*;
+
+// This class controls our Turrets and TTMs, which are the same robot packed up in two different ways.
+// Turrets shoot everything in range and only pack up into TTMs when Deployment finds a spot that is worth the turns
+// spent packing, moving and unpacking.  TTMs head for that spot and set up when they get there or see a hostile.
+public class Turret {
+
+    // This method is where we control our Turrets
+    public static void runTurret() throws Exception {
+        // pick up the hostiles our scouts spotted for us, shootEnemies() considers them along with the ones we see
+        Spotter.readMessages();
+        // keep looking for a better spot in the background
+        Deployment.update();
+
+        // try to attack
+        if (rc.isWeaponReady() && shootEnemies()) return;
+
+        // check to see if we should pack
+        if (rc.isCoreReady() && Deployment.shouldPack()) {
+            rc.pack();
+            if (Trace.ENABLED) Trace.note(Trace.PACK, Deployment.destination);
+            Deployment.packed();
+            // we are a TTM now so the TTM code runs from next turn
+            resolveController();
+        }
+    }
+
+    // This method is where we control our TTMs
+    public static void runTTM() throws Exception {
+        Deployment.update();
+
+        // packing and unpacking both need our core ready, just like moving
+        if (!rc.isCoreReady()) return;
+
+        // check to see if we should unpack so we can fight, or because we are where we wanted to be
+        if (Deployment.shouldUnpack()) {
+            rc.unpack();
+            if (Trace.ENABLED) Trace.note(Trace.UNPACK, null);
+            Deployment.unpacked();
+            // we are a turret now so the turret code runs from next turn
+            resolveController();
+            return;
+        }
+
+        // otherwise keep heading for our spot
+        currentTarget = Deployment.destination;
+        currentDirection = rc.getLocation().directionTo(currentTarget);
+        travel();
+    }
+}
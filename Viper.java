@@ -0,0 +1,86 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+import static BasicExample.RobotPlayer.*;
+
+// This class controls our Vipers.
+// Vipers infect the best target Targeting finds in range, which for them means enemies rather than zombies, and Micro
+// kites them while their weapon cools down.  They get away from dens about to spawn a wave and answer any Archon
+// calling for help.  Otherwise, once their squad is strong enough (see Rally), they go after the nearest enemy archon
+// our team has seen recently, or sweep the enemy's starting archon positions one after another.
+public class Viper {
+
+    // This variable is used to save the enemy Archon location we are heading for
+    public static MapLocation enemyArchon;
+    // This variable is used by vipers to know which enemy archon start location they should head towards
+    public static int currentEnemyArchonStartLoc = 0;
+
+    // This method is where we control our vipers
+    public static void run() throws Exception {
+        // listen for Archons calling for help
+        Rally.readMessages();
+
+        // Check to see if there is an enemy and chase them otherwise head towards next
+        // enemy archon start location
+        changeDirection();
+
+        // try to attack
+        boolean shot = rc.isWeaponReady() && shootEnemies();
+
+        // step out of range while our weapon cools down, or run if we are badly hurt
+        if (Micro.reposition());
+            // try to move if we don't attack
+        else if (!shot && rc.isCoreReady() && travel());
+    }
+
+    // This method determines what direction a viper should move in next
+    // Currently a viper runs around near enemy archon locations
+    public static void changeDirection() throws Exception {
+        // TODO: run towards enemies if we see them and are out of range
+        // TODO: avoid zombies altogether as vipers are weak against them (Micro only kites them)
+
+        // get away from any den that is about to spawn a wave, we are weak against zombies
+        MapLocation evade = ZombieForecast.evadeWave();
+        if (evade != null) {
+            currentDirection = rc.getLocation().directionTo(evade);
+            currentTarget = evade;
+            return;
+        }
+
+        // an Archon calling for help comes before everything else
+        MapLocation help = Rally.distressCall();
+        if (help != null) {
+            currentDirection = rc.getLocation().directionTo(help);
+            currentTarget = help;
+            return;
+        }
+
+        // go after an enemy archon our team has seen recently before sweeping their start positions
+        MapLocation seen = Knowledge.nearest(Messaging.ENEMY_ARCHON, Knowledge.ENEMY_ARCHON_TTL);
+        if (seen != null) {
+            currentDirection = rc.getLocation().directionTo(seen);
+            currentTarget = Rally.advanceOn(seen);
+            return;
+        }
+
+        // if we don't have a enemy archon to go to set it
+        if (enemyArchon == null) {
+            // set enemy Archon to the current start location we want
+            enemyArchon = Tables.theirArchons[currentEnemyArchonStartLoc];
+        }
+
+        // if we are close to enemy archon start position then go to the next one
+        if (rc.getLocation().distanceSquaredTo(enemyArchon) < 5) {
+            // increment to go to the next enemy Archon start location with a modus so we wrap around to the begining instead
+            // of throwing an Array out of bounds exception
+            currentEnemyArchonStartLoc = (currentEnemyArchonStartLoc + 1) % Tables.theirArchons.length;
+            // set enemy Archon location
+            enemyArchon = Tables.theirArchons[currentEnemyArchonStartLoc];
+        }
+
+        // wait for our squad before heading out
+        currentDirection = rc.getLocation().directionTo(enemyArchon);
+        currentTarget = Rally.advanceOn(enemyArchon);
+    }
+}
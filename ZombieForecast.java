@@ -0,0 +1,145 @@
+package BasicExample;
+
+import battlecode.common.*;
+
+// This class tells us when the next zombie wave spawns and how strong it is.
+//
+// Every den spawns the same zombies on the rounds listed in rc.getZombieSpawnSchedule().  We decode the schedule
+// once when the robot starts into a table with one row per spawn round:
+//     waveRound     the round the wave spawns on
+//     waveCount     how many zombies each den spawns
+//     waveType      the type there are the most of
+//     waveDps       the damage per turn the wave does at each den, attack power over attack delay summed over
+//                   every zombie in it
+// and keep a cursor on the next wave.  Rounds only go forwards so the cursor only moves forwards and every lookup
+// is constant time.
+//
+// Guards use it to go for dens between waves instead of being next to one when a big wave comes out, and Archons
+// and vipers use it to get away from dens before a wave spawns.
+public class ZombieForecast {
+
+    // the most spawn rounds we keep
+    public static final int MAX_WAVES = 128;
+    // a wave doing at least this much damage per turn at each den is a big one
+    public static final double BIG_WAVE_DPS = Params.values[Params.BIG_WAVE_DPS];
+    // Archons and vipers start moving away from dens this many rounds before a wave, more for a big one
+    public static final int WARNING_ROUNDS = 10;
+    public static final int BIG_WARNING_ROUNDS = 25;
+    // how close to a den counts as being in the way of its wave
+    public static final int DEN_DANGER_RADIUS_SQUARED = 100;
+    // how far from a den guards wait for a big wave to come out, and how many rounds they want at the den
+    public static final int STAGING_DISTANCE = 6;
+    // how far from a den we retreat to when a wave is about to spawn, just outside DEN_DANGER_RADIUS_SQUARED
+    public static final int EVADE_DISTANCE = (int) Math.sqrt(DEN_DANGER_RADIUS_SQUARED) + 1;
+    public static final int ASSAULT_ROUNDS = 15;
+
+    public static int[] waveRound = new int[MAX_WAVES];
+    public static int[] waveCount = new int[MAX_WAVES];
+    public static RobotType[] waveType = new RobotType[MAX_WAVES];
+    public static double[] waveDps = new double[MAX_WAVES];
+    public static int waveTotal = 0;
+
+    // the first wave that hasn't spawned yet, waveTotal once they all have
+    private static int next = 0;
+
+    // This method decodes the spawn schedule, it is called once when the robot starts
+    public static void init() {
+        ZombieSpawnSchedule schedule = RobotPlayer.rc.getZombieSpawnSchedule();
+        int[] rounds = schedule.getRounds();
+        int n = Math.min(rounds.length, MAX_WAVES);
+        for (int i = 0; i < n; i++) {
+            ZombieCount[] counts = schedule.getScheduleForRound(rounds[i]);
+            int total = 0;
+            int most = 0;
+            RobotType type = null;
+            double dps = 0;
+            for (int j = counts.length; --j >= 0; ) {
+                RobotType t = counts[j].getType();
+                int c = counts[j].getCount();
+                total += c;
+                if (t.attackDelay > 0) dps += c * t.attackPower / t.attackDelay;
+                if (c > most) {
+                    most = c;
+                    type = t;
+                }
+            }
+            waveRound[i] = rounds[i];
+            waveCount[i] = total;
+            waveType[i] = type;
+            waveDps[i] = dps;
+        }
+        waveTotal = n;
+    }
+
+    /////////////////////////////// Lookups ////////////////////////////////////////////
+
+    // This method moves the cursor past the waves that have already spawned
+    private static int nextWave() {
+        int round = RobotPlayer.rc.getRoundNum();
+        while (next < waveTotal && waveRound[next] < round) next++;
+        return next;
+    }
+
+    // This method returns how many rounds until the next wave spawns, or Integer.MAX_VALUE if there are no more
+    public static int roundsToNextWave() {
+        int i = nextWave();
+        return i < waveTotal ? waveRound[i] - RobotPlayer.rc.getRoundNum() : Integer.MAX_VALUE;
+    }
+
+    // This method returns how much damage per turn the next wave does at each den, 0 if there are no more
+    public static double nextWaveDps() {
+        int i = nextWave();
+        return i < waveTotal ? waveDps[i] : 0;
+    }
+
+    // This method returns true if the next wave is a big one
+    public static boolean bigWaveNext() {
+        return nextWaveDps() >= BIG_WAVE_DPS;
+    }
+
+    // This method returns true if a wave spawns within the warning time for its size
+    public static boolean waveImminent() {
+        return roundsToNextWave() <= (bigWaveNext() ? BIG_WARNING_ROUNDS : WARNING_ROUNDS);
+    }
+
+    /////////////////////////////// Advice ////////////////////////////////////////////
+
+    // This method returns where to head for to attack a den.  That is the den itself unless a big wave will spawn
+    // before we could get there and get some damage in, in which case it is a point STAGING_DISTANCE away from it
+    // on our side to wait at until the wave is out.
+    public static MapLocation denApproach(MapLocation den) {
+        if (!bigWaveNext()) return den;
+        RobotController rc = RobotPlayer.rc;
+        MapLocation here = rc.getLocation();
+        int moves = Math.max(Math.abs(den.x - here.x), Math.abs(den.y - here.y));
+        int arrival = (int) (moves * rc.getType().movementDelay);
+        if (roundsToNextWave() > arrival + ASSAULT_ROUNDS) return den;
+        Direction away = den.directionTo(here);
+        if (away == Direction.OMNI) away = Direction.NORTH;
+        return den.add(away, STAGING_DISTANCE);
+    }
+
+    // This method returns somewhere to retreat to if a wave is about to spawn at a den near us, otherwise null.
+    // The point is measured from the den, not from us, so it stays put while we walk to it and is clear of the
+    // danger radius once we get there.
+    public static MapLocation evadeWave() {
+        if (MapMemory.denCount == 0 || !waveImminent()) return null;
+        MapLocation here = RobotPlayer.rc.getLocation();
+        int nearest = -1;
+        int nearestDistance = DEN_DANGER_RADIUS_SQUARED + 1;
+        for (int i = MapMemory.denCount; --i >= 0; ) {
+            int dx = MapMemory.denX[i] - here.x;
+            int dy = MapMemory.denY[i] - here.y;
+            int distance = dx * dx + dy * dy;
+            if (distance < nearestDistance) {
+                nearestDistance = distance;
+                nearest = i;
+            }
+        }
+        if (nearest < 0) return null;
+        MapLocation den = MapMemory.location(MapMemory.denX[nearest], MapMemory.denY[nearest]);
+        Direction away = den.directionTo(here);
+        if (away == Direction.OMNI) away = Direction.NORTH;
+        return den.add(away, EVADE_DISTANCE);
+    }
+}
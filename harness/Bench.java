@@ -0,0 +1,141 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.List;
+
+// Runs the built in scenarios offline and reports what our bot costs per turn, JMH style.
+//
+// Each scenario is played for some warmup iterations that are thrown away (so the JIT has settled) and then for the
+// measured iterations, each with a different seed.  For every robot type we report
+//     ns/turn       wall clock time per turn, mean and standard deviation across iterations
+//     turns/s       decisions per second, the inverse of ns/turn
+//     bc/turn       simulated bytecodes per turn (API call costs only, see SimController), mean and max
+//     over          turns whose simulated bytecodes went over the type's limit
+//
+// What our robots print is thrown away unless -log is given, in which case it goes to that file.  Turn on
+// Trace.ENABLED and read the log with TraceAnalyzer to see what every robot did.
+//
+// Usage: java -cp <battlecode.jar>:<classes> BasicExample.harness.Bench
+//            [-rounds N] [-warmup N] [-iterations N] [-seed N] [-log FILE] [scenario ...]
+public class Bench {
+
+    public static void main(String[] args) throws IOException {
+        int rounds = 300;
+        int warmup = 2;
+        int iterations = 5;
+        long seed = 1;
+        String log = null;
+        List<String> names = new ArrayList<String>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-rounds")) rounds = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-warmup")) warmup = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-iterations")) iterations = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-seed")) seed = Long.parseLong(args[++i]);
+            else if (args[i].equals("-log")) log = args[++i];
+            else names.add(args[i]);
+        }
+        if (names.isEmpty()) names.addAll(Scenario.BUILT_IN.keySet());
+
+        PrintStream out = System.out;
+        PrintStream robotOutput = new PrintStream(log == null ? NULL_OUTPUT : new FileOutputStream(log));
+        for (String name : names) {
+            Scenario scenario = Scenario.BUILT_IN.get(name);
+            if (scenario == null) {
+                out.println("unknown scenario " + name + ", pick from " + Scenario.BUILT_IN.keySet());
+                continue;
+            }
+            report(out, scenario, rounds, warmup, iterations, seed, robotOutput);
+        }
+        robotOutput.close();
+    }
+
+    private static void report(PrintStream out, Scenario scenario, int rounds, int warmup, int iterations, long seed,
+                               PrintStream robotOutput) {
+        RobotType[] types = RobotType.values();
+        double[][] nsPerTurn = new double[types.length][iterations];
+        TurnStats total = new TurnStats();
+        int[] wins = new int[3];
+        long wallStart = System.nanoTime();
+
+        for (int i = -warmup; i < iterations; i++) {
+            TurnStats stats = new TurnStats();
+            Team winner;
+            // our robots print a lot, keep it out of the report
+            PrintStream savedOut = System.out;
+            PrintStream savedErr = System.err;
+            System.setOut(robotOutput);
+            System.setErr(robotOutput);
+            try {
+                // robot ids start again every match, this tells TraceAnalyzer where one log ends and the next begins
+                robotOutput.println(TraceAnalyzer.MATCH_MARKER + " " + scenario.name + " " + (seed + i));
+                winner = new Match(scenario.build(seed + i), stats).play(rounds);
+            } finally {
+                System.setOut(savedOut);
+                System.setErr(savedErr);
+            }
+            if (i < 0) continue;
+
+            total.add(stats);
+            wins[winner == Team.A ? 0 : winner == Team.B ? 1 : 2]++;
+            for (RobotType type : types) {
+                nsPerTurn[type.ordinal()][i] = stats.nanosPerTurn(type);
+            }
+        }
+        double wallSeconds = (System.nanoTime() - wallStart) / 1e9;
+
+        out.printf("%nScenario %s: %d rounds x %d iterations (%d warmup), A won %d, B won %d, unfinished %d, %.1fs%n",
+                scenario.name, rounds, iterations, warmup, wins[0], wins[1], wins[2], wallSeconds);
+        out.printf("%-10s %10s %22s %12s %10s %8s %8s%n", "type", "turns", "ns/turn", "turns/s", "bc/turn",
+                "bc max", "over");
+        for (RobotType type : types) {
+            int t = type.ordinal();
+            if (total.turns[t] == 0) continue;
+            double mean = mean(nsPerTurn[t]);
+            double error = stddev(nsPerTurn[t], mean);
+            out.printf("%-10s %10d %12.0f +- %7.0f %12.0f %10.0f %8d %8d%n", type, total.turns[t], mean, error,
+                    mean > 0 ? 1e9 / mean : 0, (double) total.bytecodes[t] / total.turns[t], total.maxBytecodes[t],
+                    total.overLimit[t]);
+        }
+    }
+
+    private static double mean(double[] values) {
+        double sum = 0;
+        int count = 0;
+        for (double value : values) {
+            if (value > 0) {
+                sum += value;
+                count++;
+            }
+        }
+        return count == 0 ? 0 : sum / count;
+    }
+
+    private static double stddev(double[] values, double mean) {
+        double sum = 0;
+        int count = 0;
+        for (double value : values) {
+            if (value > 0) {
+                sum += (value - mean) * (value - mean);
+                count++;
+            }
+        }
+        return count < 2 ? 0 : Math.sqrt(sum / (count - 1));
+    }
+
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+}
@@ -0,0 +1,111 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Field;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+// One robot's private copy of our bot.
+//
+// In a real match every robot runs in its own virtual machine, which is why RobotPlayer can keep all of its state in
+// static fields.  To get the same isolation here each robot loads the BasicExample classes through its own class
+// loader, so every robot gets its own set of statics.  The battlecode.common classes and the harness itself are
+// shared.
+//
+// A robot can also be given its own strategy parameters (see Params), they are put in place before any of the bot's
+// other classes are loaded so the static final copies of them pick up the new values.
+public class IsolatedPlayer {
+
+    // the package of the bot that gets a fresh copy per robot
+    public static final String BOT_PACKAGE = "BasicExample.";
+    // the package of the harness, which is shared
+    public static final String HARNESS_PACKAGE = "BasicExample.harness.";
+
+    private final Method runTurn;
+
+    public IsolatedPlayer(RobotController rc, int[] bytecodeCounter) {
+        this(rc, bytecodeCounter, null);
+    }
+
+    // params is the vector this robot plays with, null for the defaults
+    public IsolatedPlayer(RobotController rc, int[] bytecodeCounter, double[] params) {
+        try {
+            ClassLoader loader = new ChildFirstLoader(IsolatedPlayer.class.getClassLoader());
+
+            if (params != null) {
+                loader.loadClass(BOT_PACKAGE + "Params").getField("values").set(null, params.clone());
+            }
+
+            // point the bot's bytecode counter at the one our stand-in controller charges
+            Class<?> bytecodes = loader.loadClass(BOT_PACKAGE + "Bytecodes");
+            Field simulated = bytecodes.getField("simulated");
+            simulated.setBoolean(null, true);
+            bytecodes.getField("simulatedCounter").set(null, bytecodeCounter);
+
+            Class<?> player = loader.loadClass(BOT_PACKAGE + "RobotPlayer");
+            player.getMethod("init", RobotController.class).invoke(null, rc);
+            runTurn = player.getMethod("runTurn");
+        } catch (InvocationTargetException e) {
+            throw new IllegalStateException("robot failed to initialize", e.getCause());
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException("could not load the bot", e);
+        }
+    }
+
+    // This method runs one turn, the same as one trip around the loop in RobotPlayer.run()
+    public void runTurn() {
+        try {
+            runTurn.invoke(null);
+        } catch (InvocationTargetException e) {
+            // runTurn() catches Exceptions itself so anything that gets here would have killed the robot
+            throw new IllegalStateException("robot threw out of runTurn()", e.getCause());
+        } catch (IllegalAccessException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    // A class loader that defines the bot's classes itself instead of asking its parent first
+    private static class ChildFirstLoader extends ClassLoader {
+
+        ChildFirstLoader(ClassLoader parent) {
+            super(parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (!name.startsWith(BOT_PACKAGE) || name.startsWith(HARNESS_PACKAGE)) {
+                return super.loadClass(name, resolve);
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name);
+                if (loaded == null) {
+                    byte[] bytes = readClass(name);
+                    loaded = defineClass(name, bytes, 0, bytes.length);
+                }
+                if (resolve) resolveClass(loaded);
+                return loaded;
+            }
+        }
+
+        private byte[] readClass(String name) throws ClassNotFoundException {
+            InputStream in = getParent().getResourceAsStream(name.replace('.', '/') + ".class");
+            if (in == null) throw new ClassNotFoundException(name);
+            try {
+                ByteArrayOutputStream out = new ByteArrayOutputStream();
+                byte[] buffer = new byte[8192];
+                int read;
+                while ((read = in.read(buffer)) > 0) {
+                    out.write(buffer, 0, read);
+                }
+                in.close();
+                return out.toByteArray();
+            } catch (IOException e) {
+                throw new ClassNotFoundException(name, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.util.ArrayList;
+import java.util.List;
+
+// Plays one scenario for a number of rounds and records what every turn cost
+public class Match {
+
+    public final SimWorld world;
+    public final TurnStats stats;
+
+    public Match(SimWorld world, TurnStats stats) {
+        this.world = world;
+        this.stats = stats;
+    }
+
+    // This method plays up to the given number of rounds and returns the winner, or null if nobody won
+    public Team play(int rounds) {
+        for (int r = 0; r < rounds; r++) {
+            world.startRound();
+            // robots built this round act next round, just like in the real game
+            List<SimRobot> acting = new ArrayList<SimRobot>(world.robots);
+            for (SimRobot robot : acting) {
+                if (!robot.alive) continue;
+                if (robot.player == null) {
+                    if (robot.team == Team.ZOMBIE) world.runZombie(robot);
+                    continue;
+                }
+                playTurn(robot);
+            }
+
+            boolean aAlive = world.archonCount(Team.A) > 0;
+            boolean bAlive = world.archonCount(Team.B) > 0;
+            if (!aAlive || !bAlive) {
+                if (aAlive) return Team.A;
+                if (bAlive) return Team.B;
+                return null;
+            }
+        }
+        return null;
+    }
+
+    private void playTurn(SimRobot robot) {
+        // the type before the turn decides which run method gets the turn
+        RobotType type = robot.type;
+        robot.bytecodeCounter[0] = 0;
+        long start = System.nanoTime();
+        robot.player.runTurn();
+        long elapsed = System.nanoTime() - start;
+        stats.record(type, elapsed, robot.bytecodeCounter[0]);
+    }
+}
@@ -0,0 +1,185 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// A scripted starting position for the harness, drawn as a picture of the map.
+//
+// Upper case letters are team A, lower case letters are team B:
+//     A a  archon        S s  soldier       G g  guard       V v  viper
+//     T t  turret        C c  scout
+// Everything else:
+//     .    open ground   :    rubble that slows units down   #    rubble that blocks units
+//     $    parts         N    neutral soldier                D    zombie den
+//     Z    standard zombie
+public class Scenario {
+
+    public final String name;
+    public final String[] rows;
+    // zombie waves as {round, count} pairs of standard zombies spawned at every den
+    public final int[][] waves;
+
+    public Scenario(String name, int[][] waves, String... rows) {
+        this.name = name;
+        this.rows = rows;
+        this.waves = waves;
+    }
+
+    // This method builds a fresh world for one run of the scenario
+    public SimWorld build(long seed) {
+        return build(seed, null, null);
+    }
+
+    // This method builds a fresh world whose teams play with the given strategy parameters, null for the defaults
+    public SimWorld build(long seed, double[] paramsA, double[] paramsB) {
+        SimWorld world = new SimWorld(rows[0].length(), rows.length, seed);
+        world.teamParams[0] = paramsA;
+        world.teamParams[1] = paramsB;
+        List<MapLocation> archonsA = new ArrayList<MapLocation>();
+        List<MapLocation> archonsB = new ArrayList<MapLocation>();
+        List<Object[]> units = new ArrayList<Object[]>();
+
+        for (int y = 0; y < rows.length; y++) {
+            for (int x = 0; x < rows[y].length(); x++) {
+                char c = rows[y].charAt(x);
+                MapLocation loc = new MapLocation(world.originX + x, world.originY + y);
+                int i = world.index(loc);
+                switch (c) {
+                    case ':':
+                        world.rubble[i] = 60;
+                        break;
+                    case '#':
+                        world.rubble[i] = 500;
+                        break;
+                    case '$':
+                        world.parts[i] = 50;
+                        break;
+                    case 'N':
+                        units.add(new Object[]{Team.NEUTRAL, RobotType.SOLDIER, loc});
+                        break;
+                    case 'D':
+                        units.add(new Object[]{Team.ZOMBIE, RobotType.ZOMBIEDEN, loc});
+                        break;
+                    case 'Z':
+                        units.add(new Object[]{Team.ZOMBIE, RobotType.STANDARDZOMBIE, loc});
+                        break;
+                    case '.':
+                        break;
+                    default:
+                        RobotType type = typeFor(Character.toUpperCase(c));
+                        if (type == null) throw new IllegalArgumentException("unknown map character " + c);
+                        Team team = Character.isUpperCase(c) ? Team.A : Team.B;
+                        if (type == RobotType.ARCHON) (team == Team.A ? archonsA : archonsB).add(loc);
+                        units.add(new Object[]{team, type, loc});
+                }
+            }
+        }
+
+        // every robot needs the archon start locations from its very first turn, so set them before spawning anybody
+        world.initialArchonsA = archonsA.toArray(new MapLocation[archonsA.size()]);
+        world.initialArchonsB = archonsB.toArray(new MapLocation[archonsB.size()]);
+        for (int[] wave : waves) {
+            world.zombieSchedule.add(wave[0], RobotType.STANDARDZOMBIE, wave[1]);
+        }
+        for (Object[] unit : units) {
+            world.spawn((Team) unit[0], (RobotType) unit[1], (MapLocation) unit[2]);
+        }
+        return world;
+    }
+
+    private static RobotType typeFor(char c) {
+        switch (c) {
+            case 'A':
+                return RobotType.ARCHON;
+            case 'S':
+                return RobotType.SOLDIER;
+            case 'G':
+                return RobotType.GUARD;
+            case 'V':
+                return RobotType.VIPER;
+            case 'T':
+                return RobotType.TURRET;
+            case 'C':
+                return RobotType.SCOUT;
+            default:
+                return null;
+        }
+    }
+
+    /////////////////////////////// Built in scenarios ////////////////////////////////////////////
+
+    public static final Map<String, Scenario> BUILT_IN = new LinkedHashMap<String, Scenario>();
+
+    private static void add(Scenario scenario) {
+        BUILT_IN.put(scenario.name, scenario);
+    }
+
+    static {
+        // two archons each on an open map, mostly measures building and wandering
+        add(new Scenario("open", new int[0][],
+                "..............................",
+                ".A..........$.................",
+                "..............................",
+                "........$..........N..........",
+                "..............................",
+                "..............................",
+                "......$...............$.......",
+                "..............................",
+                ".A............................",
+                "..............................",
+                "............................a.",
+                "..............................",
+                ".......$...............$......",
+                "..............................",
+                "..............................",
+                "..........N..........$........",
+                "..............................",
+                ".................$..........a.",
+                ".............................."));
+
+        // a wall of rubble between the two teams with a slow gap, measures pathfinding
+        add(new Scenario("rubble", new int[0][],
+                "..............#...............",
+                ".A............#...............",
+                "..............#...............",
+                "..S...........#...............",
+                "..............#...............",
+                "..S...........:...........s...",
+                "..............:...............",
+                "..............#...........s...",
+                "..............#...............",
+                "..............#...........a...",
+                "..............#..............."));
+
+        // two armies meeting in the middle, measures targeting and combat turns
+        add(new Scenario("skirmish", new int[0][],
+                "....................",
+                ".A................a.",
+                "....................",
+                "...SS..........ss...",
+                "...GV..........gv...",
+                "...TC..........tc...",
+                "...SS..........ss...",
+                "....................",
+                "...................."));
+
+        // zombie dens that spawn waves, measures how we cope with zombies
+        add(new Scenario("zombies", new int[][]{{20, 2}, {60, 3}, {120, 4}, {200, 5}},
+                "........................",
+                ".A....................a.",
+                "........................",
+                "..S..................s..",
+                "..........D.............",
+                "........................",
+                "..G.......Z..........g..",
+                "........................",
+                ".............D..........",
+                "..S..................s..",
+                "........................",
+                ".A....................a."));
+    }
+}
@@ -0,0 +1,360 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// A scriptable stand-in for RobotController that answers from a SimWorld.
+//
+// It is a dynamic proxy rather than a class that implements RobotController so that it keeps compiling when the
+// interface grows.  Calls it doesn't know about return 0, false or null.  Every call is charged an approximate
+// bytecode cost to the robot's counter, which is how the harness estimates bytecodes per turn.
+public class SimController implements InvocationHandler {
+
+    // approximate bytecode cost of each API call, anything not listed costs DEFAULT_COST
+    public static final int DEFAULT_COST = 1;
+    public static final Map<String, Integer> COSTS = new HashMap<String, Integer>();
+
+    static {
+        COSTS.put("senseNearbyRobots", 100);
+        COSTS.put("senseHostileRobots", 100);
+        COSTS.put("sensePartLocations", 100);
+        COSTS.put("senseRobotAtLocation", 25);
+        COSTS.put("senseRobot", 25);
+        COSTS.put("senseRubble", 25);
+        COSTS.put("senseParts", 25);
+        COSTS.put("isLocationOccupied", 25);
+        COSTS.put("onTheMap", 25);
+        COSTS.put("canSenseLocation", 5);
+        COSTS.put("canMove", 10);
+        COSTS.put("canAttackLocation", 10);
+        COSTS.put("canBuild", 10);
+        COSTS.put("emptySignalQueue", 50);
+        COSTS.put("getInitialArchonLocations", 100);
+        COSTS.put("getZombieSpawnSchedule", 100);
+        COSTS.put("setIndicatorString", 0);
+    }
+
+    private final SimWorld world;
+    private final SimRobot robot;
+
+    public SimController(SimWorld world, SimRobot robot) {
+        this.world = world;
+        this.robot = robot;
+    }
+
+    public RobotController proxy() {
+        return (RobotController) Proxy.newProxyInstance(RobotController.class.getClassLoader(),
+                new Class<?>[]{RobotController.class}, this);
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        String name = method.getName();
+        Integer cost = COSTS.get(name);
+        robot.bytecodeCounter[0] += cost == null ? DEFAULT_COST : cost;
+
+        switch (name) {
+            // game and robot state
+            case "getRoundNum":
+                return world.round;
+            case "getRoundLimit":
+                return world.roundLimit;
+            case "getTeamParts":
+                return (int) world.teamParts[world.teamIndex(robot.team)];
+            case "getRobotCount":
+                return world.unitCount(robot.team);
+            case "getZombieSpawnSchedule":
+                return world.zombieSchedule;
+            case "getInitialArchonLocations":
+                return args[0] == Team.A ? world.initialArchonsA.clone()
+                        : args[0] == Team.B ? world.initialArchonsB.clone() : new MapLocation[0];
+            case "getID":
+                return robot.id;
+            case "getTeam":
+                return robot.team;
+            case "getType":
+                return robot.type;
+            case "getLocation":
+                return robot.location;
+            case "getHealth":
+                return robot.health;
+            case "getCoreDelay":
+                return robot.coreDelay;
+            case "getWeaponDelay":
+                return robot.weaponDelay;
+            case "isCoreReady":
+                return robot.coreDelay < 1;
+            case "isWeaponReady":
+                return robot.weaponDelay < 1;
+            case "getBasicSignalCount":
+                return robot.basicSignalsSent;
+            case "getMessageSignalCount":
+                return robot.messageSignalsSent;
+
+            // sensing
+            case "onTheMap":
+                requireSensed((MapLocation) args[0]);
+                return world.onMap((MapLocation) args[0]);
+            case "canSenseLocation":
+            case "canSense":
+                return canSense((MapLocation) args[0]);
+            case "senseRubble":
+                return canSense((MapLocation) args[0]) ? world.rubbleAt((MapLocation) args[0]) : -1.0;
+            case "senseParts":
+                return canSense((MapLocation) args[0]) ? world.partsAt((MapLocation) args[0]) : -1.0;
+            case "sensePartLocations":
+                return sensePartLocations((Integer) args[0]);
+            case "isLocationOccupied":
+                requireSensed((MapLocation) args[0]);
+                return world.robotAt((MapLocation) args[0]) != null;
+            case "senseRobotAtLocation": {
+                requireSensed((MapLocation) args[0]);
+                SimRobot other = world.robotAt((MapLocation) args[0]);
+                return other == null ? null : other.info();
+            }
+            case "canSenseRobot": {
+                SimRobot other = world.robotById((Integer) args[0]);
+                return other != null && canSense(other.location);
+            }
+            case "senseRobot": {
+                SimRobot other = world.robotById((Integer) args[0]);
+                if (other == null || !canSense(other.location)) throw fail("can't sense robot " + args[0]);
+                return other.info();
+            }
+            case "senseNearbyRobots":
+                return senseNearbyRobots(args);
+            case "senseHostileRobots":
+                return senseRobots((MapLocation) args[0], (Integer) args[1], null, true);
+
+            // actions
+            case "move":
+                move((Direction) args[0]);
+                return null;
+            case "canMove":
+                return canMove((Direction) args[0]);
+            case "clearRubble":
+                clearRubble((Direction) args[0]);
+                return null;
+            case "canAttackLocation":
+                return canAttack((MapLocation) args[0]);
+            case "attackLocation":
+                attack((MapLocation) args[0]);
+                return null;
+            case "hasBuildRequirements":
+                return hasBuildRequirements((RobotType) args[0]);
+            case "canBuild":
+                return canBuild((Direction) args[0], (RobotType) args[1]);
+            case "build":
+                build((Direction) args[0], (RobotType) args[1]);
+                return null;
+            case "activate":
+                activate((MapLocation) args[0]);
+                return null;
+            case "pack":
+                transform(RobotType.TURRET, RobotType.TTM);
+                return null;
+            case "unpack":
+                transform(RobotType.TTM, RobotType.TURRET);
+                return null;
+            case "disintegrate":
+                robot.alive = false;
+                return null;
+
+            // signals
+            case "emptySignalQueue": {
+                Signal[] signals = robot.signals.toArray(new Signal[robot.signals.size()]);
+                robot.signals.clear();
+                return signals;
+            }
+            case "readSignal":
+                return robot.signals.poll();
+            case "broadcastSignal":
+                broadcast(null, (Integer) args[0]);
+                return null;
+            case "broadcastMessageSignal":
+                broadcast(new int[]{(Integer) args[0], (Integer) args[1]}, (Integer) args[2]);
+                return null;
+
+            // debugging
+            case "setIndicatorString":
+                robot.indicators[(Integer) args[0]] = (String) args[1];
+                return null;
+
+            default:
+                return defaultValue(method.getReturnType());
+        }
+    }
+
+    /////////////////////////////// Sensing ////////////////////////////////////////////
+
+    private boolean canSense(MapLocation loc) {
+        return robot.location.distanceSquaredTo(loc) <= robot.type.sensorRadiusSquared;
+    }
+
+    private void requireSensed(MapLocation loc) throws GameActionException {
+        if (!canSense(loc)) throw fail("can't sense " + loc);
+    }
+
+    private MapLocation[] sensePartLocations(int radiusSquared) {
+        if (radiusSquared < 0 || radiusSquared > robot.type.sensorRadiusSquared) {
+            radiusSquared = robot.type.sensorRadiusSquared;
+        }
+        List<MapLocation> found = new ArrayList<MapLocation>();
+        int reach = (int) Math.sqrt(radiusSquared);
+        for (int dx = -reach; dx <= reach; dx++) {
+            for (int dy = -reach; dy <= reach; dy++) {
+                MapLocation loc = robot.location.add(dx, dy);
+                if (dx * dx + dy * dy <= radiusSquared && world.partsAt(loc) > 0) found.add(loc);
+            }
+        }
+        return found.toArray(new MapLocation[found.size()]);
+    }
+
+    private RobotInfo[] senseNearbyRobots(Object[] args) {
+        if (args == null) return senseRobots(robot.location, -1, null, false);
+        if (args.length == 1) return senseRobots(robot.location, (Integer) args[0], null, false);
+        if (args.length == 2) return senseRobots(robot.location, (Integer) args[0], (Team) args[1], false);
+        return senseRobots((MapLocation) args[0], (Integer) args[1], (Team) args[2], false);
+    }
+
+    // a radius of -1 means our whole sensor range, a null team means every team
+    private RobotInfo[] senseRobots(MapLocation center, int radiusSquared, Team team, boolean hostileOnly) {
+        if (radiusSquared < 0) radiusSquared = robot.type.sensorRadiusSquared;
+        Team opponent = robot.team.opponent();
+        List<RobotInfo> found = new ArrayList<RobotInfo>();
+        for (int i = world.robots.size(); --i >= 0; ) {
+            SimRobot other = world.robots.get(i);
+            if (!other.alive || other == robot) continue;
+            if (team != null && other.team != team) continue;
+            if (hostileOnly && other.team != opponent && other.team != Team.ZOMBIE) continue;
+            if (center.distanceSquaredTo(other.location) > radiusSquared || !canSense(other.location)) continue;
+            found.add(other.info());
+        }
+        return found.toArray(new RobotInfo[found.size()]);
+    }
+
+    /////////////////////////////// Actions ////////////////////////////////////////////
+
+    private boolean canMove(Direction dir) {
+        if (!robot.type.canMove() || dir == Direction.NONE || dir == Direction.OMNI) return false;
+        MapLocation next = robot.location.add(dir);
+        if (!world.onMap(next) || world.robotAt(next) != null) return false;
+        return robot.type == RobotType.SCOUT || world.rubbleAt(next) < GameConstants.RUBBLE_OBSTRUCTION_THRESH;
+    }
+
+    private void move(Direction dir) throws GameActionException {
+        if (robot.coreDelay >= 1) throw fail("core not ready");
+        if (!canMove(dir)) throw fail("can't move " + dir);
+        MapLocation next = robot.location.add(dir);
+        double delay = robot.type.movementDelay * (dir.isDiagonal() ? 1.4 : 1);
+        if (robot.type != RobotType.SCOUT && world.rubbleAt(next) >= GameConstants.RUBBLE_SLOW_THRESH) delay *= 2;
+        robot.coreDelay += delay;
+        robot.weaponDelay = Math.max(robot.weaponDelay, robot.type.cooldownDelay);
+        robot.location = next;
+
+        // robots pick up parts by walking over them
+        int i = world.index(next);
+        world.teamParts[world.teamIndex(robot.team)] += world.parts[i];
+        world.parts[i] = 0;
+    }
+
+    private void clearRubble(Direction dir) throws GameActionException {
+        if (robot.coreDelay >= 1) throw fail("core not ready");
+        MapLocation loc = robot.location.add(dir);
+        if (!world.onMap(loc)) throw fail("can't clear off the map");
+        int i = world.index(loc);
+        world.rubble[i] = Math.max(0, world.rubble[i] * (1 - GameConstants.RUBBLE_CLEAR_PERCENTAGE)
+                - GameConstants.RUBBLE_CLEAR_FLAT_AMOUNT);
+        robot.coreDelay += robot.type.movementDelay;
+        robot.weaponDelay = Math.max(robot.weaponDelay, robot.type.cooldownDelay);
+    }
+
+    private boolean canAttack(MapLocation loc) {
+        if (!robot.type.canAttack()) return false;
+        int distance = robot.location.distanceSquaredTo(loc);
+        if (distance > robot.type.attackRadiusSquared) return false;
+        return robot.type != RobotType.TURRET || distance >= GameConstants.TURRET_MINIMUM_RANGE;
+    }
+
+    private void attack(MapLocation loc) throws GameActionException {
+        if (robot.weaponDelay >= 1) throw fail("weapon not ready");
+        if (!canAttack(loc)) throw fail("can't attack " + loc);
+        robot.weaponDelay += robot.type.attackDelay;
+        robot.coreDelay = Math.max(robot.coreDelay, robot.type.cooldownDelay);
+        SimRobot target = world.robotAt(loc);
+        if (target != null) world.damage(target, robot.type.attackPower);
+    }
+
+    private boolean hasBuildRequirements(RobotType type) {
+        return robot.type == RobotType.ARCHON && world.teamParts[world.teamIndex(robot.team)] >= type.partCost;
+    }
+
+    private boolean canBuild(Direction dir, RobotType type) {
+        if (!hasBuildRequirements(type) || dir == Direction.NONE || dir == Direction.OMNI) return false;
+        MapLocation loc = robot.location.add(dir);
+        return world.onMap(loc) && world.robotAt(loc) == null
+                && world.rubbleAt(loc) < GameConstants.RUBBLE_OBSTRUCTION_THRESH;
+    }
+
+    private void build(Direction dir, RobotType type) throws GameActionException {
+        if (robot.coreDelay >= 1) throw fail("core not ready");
+        if (!canBuild(dir, type)) throw fail("can't build " + type + " " + dir);
+        world.teamParts[world.teamIndex(robot.team)] -= type.partCost;
+        robot.coreDelay += type.buildTurns;
+        world.spawn(robot.team, type, robot.location.add(dir));
+    }
+
+    private void activate(MapLocation loc) throws GameActionException {
+        if (robot.coreDelay >= 1) throw fail("core not ready");
+        SimRobot neutral = world.robotAt(loc);
+        if (neutral == null || neutral.team != Team.NEUTRAL) throw fail("no neutral at " + loc);
+        if (robot.location.distanceSquaredTo(loc) > GameConstants.ARCHON_ACTIVATION_RANGE) throw fail("too far");
+        neutral.alive = false;
+        robot.coreDelay += 1;
+        world.spawn(robot.team, neutral.type, loc);
+    }
+
+    private void transform(RobotType from, RobotType to) throws GameActionException {
+        if (robot.type != from) throw fail("can't turn a " + robot.type + " into a " + to);
+        if (robot.coreDelay >= 1) throw fail("core not ready");
+        robot.type = to;
+        robot.coreDelay += GameConstants.TURRET_TRANSFORM_DELAY;
+        robot.weaponDelay += GameConstants.TURRET_TRANSFORM_DELAY;
+    }
+
+    private void broadcast(int[] message, int radiusSquared) throws GameActionException {
+        if (message == null) {
+            if (++robot.basicSignalsSent > GameConstants.BASIC_SIGNALS_PER_TURN) throw fail("too many signals");
+        } else {
+            if (!robot.type.canMessageSignal()) throw fail(robot.type + " can't send messages");
+            if (++robot.messageSignalsSent > GameConstants.MESSAGE_SIGNALS_PER_TURN) throw fail("too many messages");
+        }
+        // signals past twice our sensor range cost extra core delay
+        double extra = Math.max(0, (double) radiusSquared / robot.type.sensorRadiusSquared - 2);
+        robot.coreDelay += GameConstants.BROADCAST_BASE_DELAY_INCREASE
+                + GameConstants.BROADCAST_ADDITIONAL_DELAY_INCREASE * extra;
+        world.broadcast(robot, message, radiusSquared);
+    }
+
+    /////////////////////////////// Helpers ////////////////////////////////////////////
+
+    private static GameActionException fail(String message) {
+        return new GameActionException(GameActionExceptionType.CANT_DO_THAT, message);
+    }
+
+    private static Object defaultValue(Class<?> type) {
+        if (type == boolean.class) return false;
+        if (type == int.class) return 0;
+        if (type == long.class) return 0L;
+        if (type == double.class) return 0.0;
+        if (type == float.class) return 0f;
+        return null;
+    }
+}
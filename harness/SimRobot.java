@@ -0,0 +1,44 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.util.ArrayDeque;
+
+// The state the harness keeps for one robot on the simulated map
+public class SimRobot {
+
+    public final int id;
+    public Team team;
+    public RobotType type;
+    public MapLocation location;
+    public double health;
+    public double coreDelay;
+    public double weaponDelay;
+    public boolean alive = true;
+
+    // signals waiting to be read by emptySignalQueue()
+    public final ArrayDeque<Signal> signals = new ArrayDeque<Signal>();
+    // how many signals we have sent this turn
+    public int basicSignalsSent;
+    public int messageSignalsSent;
+    // indicator strings, kept so scenarios can inspect them
+    public final String[] indicators = new String[3];
+
+    // the bytecodes charged to this robot this turn, shared with the robot's Bytecodes class
+    public final int[] bytecodeCounter = new int[1];
+    // the isolated copy of our bot that controls this robot, null for zombies and neutrals
+    public IsolatedPlayer player;
+
+    public SimRobot(int id, Team team, RobotType type, MapLocation location) {
+        this.id = id;
+        this.team = team;
+        this.type = type;
+        this.location = location;
+        this.health = type.maxHealth;
+    }
+
+    public RobotInfo info() {
+        return new RobotInfo(id, team, type, location, coreDelay, weaponDelay, type.attackPower, health,
+                type.maxHealth, 0, 0);
+    }
+}
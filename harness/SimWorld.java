@@ -0,0 +1,222 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+// A small stand-in for the Battlecode game world.
+//
+// It follows the rules that matter for measuring our bot (delays, rubble, parts, attacking, building, signals,
+// activation, pack/unpack and zombie spawns) closely enough that the bot behaves the way it would in a real match.
+// It is not a replacement for the real engine when it comes to who wins.
+public class SimWorld {
+
+    public final int width;
+    public final int height;
+    // the map's top left corner, real maps are offset by a random amount so we are too
+    public final int originX;
+    public final int originY;
+    public final double[] rubble;
+    public final double[] parts;
+
+    public final List<SimRobot> robots = new ArrayList<SimRobot>();
+    public final double[] teamParts = new double[2];
+    public final ZombieSpawnSchedule zombieSchedule = new ZombieSpawnSchedule();
+    public final Random random;
+
+    public MapLocation[] initialArchonsA = new MapLocation[0];
+    public MapLocation[] initialArchonsB = new MapLocation[0];
+    public int round = 0;
+    public int roundLimit = GameConstants.ROUND_MAX_LIMIT;
+    // the strategy parameters each team's robots play with, indexed by teamIndex(), null for the defaults
+    public final double[][] teamParams = new double[2][];
+
+    private int nextId = 1;
+
+    public SimWorld(int width, int height, long seed) {
+        this.width = width;
+        this.height = height;
+        this.random = new Random(seed);
+        this.originX = 100 + random.nextInt(400);
+        this.originY = 100 + random.nextInt(400);
+        this.rubble = new double[width * height];
+        this.parts = new double[width * height];
+        teamParts[0] = GameConstants.PARTS_INITIAL_AMOUNT;
+        teamParts[1] = GameConstants.PARTS_INITIAL_AMOUNT;
+    }
+
+    /////////////////////////////// Map ////////////////////////////////////////////
+
+    public boolean onMap(MapLocation loc) {
+        return loc.x >= originX && loc.y >= originY && loc.x < originX + width && loc.y < originY + height;
+    }
+
+    public int index(MapLocation loc) {
+        return (loc.y - originY) * width + (loc.x - originX);
+    }
+
+    public double rubbleAt(MapLocation loc) {
+        return onMap(loc) ? rubble[index(loc)] : 0;
+    }
+
+    public double partsAt(MapLocation loc) {
+        return onMap(loc) ? parts[index(loc)] : 0;
+    }
+
+    public SimRobot robotAt(MapLocation loc) {
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (robot.alive && robot.location.equals(loc)) return robot;
+        }
+        return null;
+    }
+
+    public SimRobot robotById(int id) {
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (robot.alive && robot.id == id) return robot;
+        }
+        return null;
+    }
+
+    public int teamIndex(Team team) {
+        return team == Team.A ? 0 : 1;
+    }
+
+    /////////////////////////////// Robots ////////////////////////////////////////////
+
+    // This method puts a robot on the map, player robots get their own copy of the bot
+    public SimRobot spawn(Team team, RobotType type, MapLocation loc) {
+        SimRobot robot = new SimRobot(nextId++, team, type, loc);
+        robots.add(robot);
+        if (team == Team.A || team == Team.B) {
+            robot.player = new IsolatedPlayer(new SimController(this, robot).proxy(), robot.bytecodeCounter,
+                    teamParams[teamIndex(team)]);
+        }
+        return robot;
+    }
+
+    public void damage(SimRobot target, double amount) {
+        target.health -= amount;
+        if (target.health <= 0) {
+            target.alive = false;
+            // dead robots leave rubble behind
+            if (onMap(target.location)) rubble[index(target.location)] += target.type.maxHealth;
+        }
+    }
+
+    // This method delivers a signal to every robot in range
+    public void broadcast(SimRobot from, int[] message, int radiusSquared) {
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (!robot.alive || robot == from || robot.player == null) continue;
+            if (robot.location.distanceSquaredTo(from.location) > radiusSquared) continue;
+            if (robot.signals.size() >= GameConstants.SIGNAL_QUEUE_MAX_SIZE) continue;
+            robot.signals.add(message == null
+                    ? new Signal(from.location, from.id, from.team)
+                    : new Signal(from.location, from.id, from.team, message[0], message[1]));
+        }
+    }
+
+    /////////////////////////////// Rounds ////////////////////////////////////////////
+
+    // This method does the bookkeeping at the start of a round
+    public void startRound() {
+        round++;
+        int[] unitCounts = new int[2];
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (!robot.alive) {
+                robots.remove(i);
+                continue;
+            }
+            robot.coreDelay = Math.max(0, robot.coreDelay - 1);
+            robot.weaponDelay = Math.max(0, robot.weaponDelay - 1);
+            robot.basicSignalsSent = 0;
+            robot.messageSignalsSent = 0;
+            if (robot.team == Team.A || robot.team == Team.B) unitCounts[teamIndex(robot.team)]++;
+        }
+        for (int t = 0; t < 2; t++) {
+            teamParts[t] += Math.max(0, GameConstants.ARCHON_PART_INCOME
+                    - GameConstants.PART_INCOME_UNIT_PENALTY * unitCounts[t]);
+        }
+        spawnZombies();
+    }
+
+    // This method spawns this round's zombies next to every den
+    private void spawnZombies() {
+        ZombieCount[] counts = zombieSchedule.getScheduleForRound(round);
+        if (counts.length == 0) return;
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot den = robots.get(i);
+            if (!den.alive || den.type != RobotType.ZOMBIEDEN) continue;
+            for (ZombieCount count : counts) {
+                for (int n = 0; n < count.getCount(); n++) {
+                    MapLocation free = freeTileNear(den.location);
+                    if (free != null) spawn(Team.ZOMBIE, count.getType(), free);
+                }
+            }
+        }
+    }
+
+    private MapLocation freeTileNear(MapLocation center) {
+        Direction[] dirs = Direction.values();
+        for (int i = 0; i < 8; i++) {
+            MapLocation loc = center.add(dirs[i]);
+            if (onMap(loc) && robotAt(loc) == null && rubbleAt(loc) < GameConstants.RUBBLE_OBSTRUCTION_THRESH) return loc;
+        }
+        return null;
+    }
+
+    // This method plays one zombie's turn: attack the closest robot in range or walk towards the closest one we see
+    public void runZombie(SimRobot zombie) {
+        if (!zombie.type.canMove() && !zombie.type.canAttack()) return;
+        SimRobot closest = null;
+        int closestDistance = Integer.MAX_VALUE;
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (!robot.alive || robot.team == Team.ZOMBIE || robot.team == Team.NEUTRAL) continue;
+            int distance = zombie.location.distanceSquaredTo(robot.location);
+            if (distance <= zombie.type.sensorRadiusSquared && distance < closestDistance) {
+                closest = robot;
+                closestDistance = distance;
+            }
+        }
+        if (closest == null) return;
+
+        if (closestDistance <= zombie.type.attackRadiusSquared) {
+            if (zombie.weaponDelay < 1) {
+                damage(closest, zombie.type.attackPower);
+                zombie.weaponDelay += zombie.type.attackDelay;
+            }
+        } else if (zombie.coreDelay < 1) {
+            Direction dir = zombie.location.directionTo(closest.location);
+            MapLocation next = zombie.location.add(dir);
+            if (onMap(next) && robotAt(next) == null && rubbleAt(next) < GameConstants.RUBBLE_OBSTRUCTION_THRESH) {
+                zombie.location = next;
+                zombie.coreDelay += zombie.type.movementDelay;
+            }
+        }
+    }
+
+    // This method returns how many archons a team has left
+    public int archonCount(Team team) {
+        int count = 0;
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (robot.alive && robot.team == team && robot.type == RobotType.ARCHON) count++;
+        }
+        return count;
+    }
+
+    public int unitCount(Team team) {
+        int count = 0;
+        for (int i = robots.size(); --i >= 0; ) {
+            SimRobot robot = robots.get(i);
+            if (robot.alive && robot.team == team) count++;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,283 @@
+package BasicExample.harness;
+
+import BasicExample.Trace;
+import battlecode.common.*;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+// Reads the TRACE lines our robots print when Trace.ENABLED is on and turns them back into something readable.
+//
+// Give it the console log of a match, from the client or from Bench -log, and it reports
+//     per type     turns, bytecodes per turn (mean and max), turns over the limit and what share of turns went on
+//                  each action
+//     hot turns    the most expensive turns, with what the robot was doing
+//     stuck tiles  the tiles robots spent the most turns on without moving, which is where they get stuck
+//     gaps         the robots with the most missing rounds, from running out of bytecodes or records being
+//                  overwritten before there were spare bytecodes to write them out
+// With -unit it prints that robot's whole timeline instead.
+//
+// Robot ids start again every match so only one match is read.  Bench -log writes a MATCH line before each match it
+// plays, -match N picks the N'th (counting from 0), a log from the client is a single match.
+//
+// Usage: java -cp <battlecode.jar>:<classes> BasicExample.harness.TraceAnalyzer [-match N] [-unit ID] [-top N]
+//            [log ...]
+// it reads standard input if no log is given.
+public class TraceAnalyzer {
+
+    // the first word of the line Bench writes to the log before each match
+    public static final String MATCH_MARKER = "MATCH";
+
+    private static final RobotType[] TYPES = RobotType.values();
+    private static final Direction[] DIRECTIONS = Direction.values();
+
+    // One decoded turn of one robot
+    private static class Turn {
+        int unit;
+        int round;
+        int action;
+        int direction;
+        RobotType type;
+        int x;
+        int y;
+        int target;
+        int bytecodes;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int match = 0;
+        int unit = -1;
+        int top = 10;
+        List<String> files = new ArrayList<String>();
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-match")) match = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-unit")) unit = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-top")) top = Integer.parseInt(args[++i]);
+            else files.add(args[i]);
+        }
+
+        // every robot's turns in round order
+        Map<Integer, List<Turn>> timelines = new TreeMap<Integer, List<Turn>>();
+        if (files.isEmpty()) {
+            read(new BufferedReader(new InputStreamReader(System.in)), match, timelines);
+        }
+        for (String file : files) {
+            read(new BufferedReader(new FileReader(file)), match, timelines);
+        }
+        for (List<Turn> turns : timelines.values()) {
+            Collections.sort(turns, BY_ROUND);
+        }
+
+        PrintStream out = System.out;
+        if (timelines.isEmpty()) {
+            out.println("no " + Trace.PREFIX + " lines found, is Trace.ENABLED on?");
+            return;
+        }
+        if (unit >= 0) {
+            timeline(out, unit, timelines.get(unit));
+            return;
+        }
+        summary(out, timelines, top);
+    }
+
+    /////////////////////////////// Decoding ////////////////////////////////////////////
+
+    // This method pulls every record of one match out of the TRACE lines in a log, anything else is skipped
+    private static void read(BufferedReader reader, int match, Map<Integer, List<Turn>> timelines)
+            throws IOException {
+        String marker = Trace.PREFIX + " ";
+        // we count the first marker as the start of match 0
+        int current = 0;
+        boolean marked = false;
+        String text;
+        while ((text = reader.readLine()) != null) {
+            if (text.startsWith(MATCH_MARKER + " ")) {
+                if (marked) current++;
+                marked = true;
+                continue;
+            }
+            if (current != match) continue;
+            // the real engine puts the robot's name in front of everything it prints
+            int start = text.indexOf(marker);
+            if (start < 0) continue;
+            String[] fields = text.substring(start + marker.length()).trim().split(" ");
+            if (fields.length < 2) continue;
+            int unit = Integer.parseInt(fields[0]);
+            String chars = fields[1];
+
+            List<Turn> turns = timelines.get(unit);
+            if (turns == null) {
+                turns = new ArrayList<Turn>();
+                timelines.put(unit, turns);
+            }
+            int recordChars = Trace.RECORD_INTS * Trace.CHARS_PER_INT;
+            for (int at = 0; at + recordChars <= chars.length(); at += recordChars) {
+                Turn turn = new Turn();
+                int word = decode(chars, at);
+                turn.unit = unit;
+                turn.round = word >>> 20;
+                turn.action = (word >>> 16) & 0xF;
+                turn.direction = (word >>> 12) & 0xF;
+                turn.type = TYPES[(word >>> 8) & 0xF];
+                int location = decode(chars, at + Trace.CHARS_PER_INT);
+                turn.x = location >> 16;
+                turn.y = (short) location;
+                turn.target = decode(chars, at + 2 * Trace.CHARS_PER_INT);
+                turn.bytecodes = decode(chars, at + 3 * Trace.CHARS_PER_INT);
+                turns.add(turn);
+            }
+        }
+        reader.close();
+    }
+
+    // This method turns CHARS_PER_INT characters back into the int they were written from
+    private static int decode(String chars, int at) {
+        int value = 0;
+        for (int i = 0; i < Trace.CHARS_PER_INT; i++) {
+            value = (value << 6) | (chars.charAt(at + i) - '0');
+        }
+        return value;
+    }
+
+    private static String location(int packed) {
+        if (packed == Trace.NO_TARGET) return "-";
+        return "(" + (packed >> 16) + "," + (short) packed + ")";
+    }
+
+    /////////////////////////////// Reports ////////////////////////////////////////////
+
+    private static void timeline(PrintStream out, int unit, List<Turn> turns) {
+        if (turns == null) {
+            out.println("no records for robot " + unit);
+            return;
+        }
+        out.printf("%6s %-8s %-9s %-11s %-12s %-12s %8s%n", "round", "type", "action", "direction", "location",
+                "target", "bc");
+        int lastRound = -1;
+        for (Turn turn : turns) {
+            if (lastRound >= 0 && turn.round > lastRound + 1) {
+                out.printf("   ... %d rounds missing%n", turn.round - lastRound - 1);
+            }
+            lastRound = turn.round;
+            out.printf("%6d %-8s %-9s %-11s %-12s %-12s %8d%s%n", turn.round, turn.type,
+                    Trace.ACTION_NAMES[turn.action], DIRECTIONS[turn.direction], location(Trace.pack(turn.x, turn.y)),
+                    location(turn.target), turn.bytecodes, turn.bytecodes > turn.type.bytecodeLimit ? " over" : "");
+        }
+    }
+
+    private static void summary(PrintStream out, Map<Integer, List<Turn>> timelines, int top) {
+        List<Turn> all = new ArrayList<Turn>();
+        for (List<Turn> turns : timelines.values()) {
+            all.addAll(turns);
+        }
+        out.printf("%d robots, %d turns%n", timelines.size(), all.size());
+
+        // per type
+        int actions = Trace.ACTION_NAMES.length;
+        long[] turns = new long[TYPES.length];
+        long[] bytecodes = new long[TYPES.length];
+        int[] maxBytecodes = new int[TYPES.length];
+        long[] over = new long[TYPES.length];
+        long[][] byAction = new long[TYPES.length][actions];
+        for (Turn turn : all) {
+            int t = turn.type.ordinal();
+            turns[t]++;
+            bytecodes[t] += turn.bytecodes;
+            maxBytecodes[t] = Math.max(maxBytecodes[t], turn.bytecodes);
+            if (turn.bytecodes > turn.type.bytecodeLimit) over[t]++;
+            byAction[t][turn.action]++;
+        }
+        out.printf("%n%-10s %8s %8s %8s %6s ", "type", "turns", "bc/turn", "bc max", "over");
+        for (String name : Trace.ACTION_NAMES) {
+            out.printf(" %8s", name);
+        }
+        out.println();
+        for (RobotType type : TYPES) {
+            int t = type.ordinal();
+            if (turns[t] == 0) continue;
+            out.printf("%-10s %8d %8d %8d %6d ", type, turns[t], bytecodes[t] / turns[t], maxBytecodes[t], over[t]);
+            for (int a = 0; a < actions; a++) {
+                out.printf(" %7.1f%%", 100.0 * byAction[t][a] / turns[t]);
+            }
+            out.println();
+        }
+
+        // the most expensive turns
+        Collections.sort(all, BY_BYTECODES);
+        out.printf("%nMost expensive turns%n%8s %6s %-8s %-9s %-12s %8s%n", "robot", "round", "type", "action",
+                "location", "bc");
+        for (int i = 0; i < top && i < all.size(); i++) {
+            Turn turn = all.get(i);
+            out.printf("%8d %6d %-8s %-9s %-12s %8d%n", turn.unit, turn.round, turn.type,
+                    Trace.ACTION_NAMES[turn.action], location(Trace.pack(turn.x, turn.y)), turn.bytecodes);
+        }
+
+        // tiles robots spent turns on without moving, turrets are meant to sit still so they don't count
+        Map<Integer, int[]> stuck = new HashMap<Integer, int[]>();
+        for (Turn turn : all) {
+            if (turn.direction != Direction.NONE.ordinal() || turn.type == RobotType.TURRET) continue;
+            if (turn.action != Trace.IDLE && turn.action != Trace.CLEAR) continue;
+            int key = Trace.pack(turn.x, turn.y);
+            int[] count = stuck.get(key);
+            if (count == null) stuck.put(key, count = new int[2]);
+            count[turn.action == Trace.CLEAR ? 1 : 0]++;
+        }
+        List<Map.Entry<Integer, int[]>> tiles = new ArrayList<Map.Entry<Integer, int[]>>(stuck.entrySet());
+        Collections.sort(tiles, new Comparator<Map.Entry<Integer, int[]>>() {
+            @Override
+            public int compare(Map.Entry<Integer, int[]> a, Map.Entry<Integer, int[]> b) {
+                return (b.getValue()[0] + b.getValue()[1]) - (a.getValue()[0] + a.getValue()[1]);
+            }
+        });
+        out.printf("%nTiles with the most turns spent not moving%n%-12s %8s %8s%n", "location", "idle", "digging");
+        for (int i = 0; i < top && i < tiles.size(); i++) {
+            Map.Entry<Integer, int[]> tile = tiles.get(i);
+            out.printf("%-12s %8d %8d%n", location(tile.getKey()), tile.getValue()[0], tile.getValue()[1]);
+        }
+
+        // robots with rounds missing from their timelines
+        List<int[]> gaps = new ArrayList<int[]>();
+        for (Map.Entry<Integer, List<Turn>> entry : timelines.entrySet()) {
+            List<Turn> timeline = entry.getValue();
+            int missing = 0;
+            for (int i = 1; i < timeline.size(); i++) {
+                missing += Math.max(0, timeline.get(i).round - timeline.get(i - 1).round - 1);
+            }
+            if (missing > 0) gaps.add(new int[]{entry.getKey(), missing, timeline.size()});
+        }
+        Collections.sort(gaps, new Comparator<int[]>() {
+            @Override
+            public int compare(int[] a, int[] b) {
+                return b[1] - a[1];
+            }
+        });
+        out.printf("%nRobots with missing rounds%n%8s %8s %8s%n", "robot", "missing", "turns");
+        for (int i = 0; i < top && i < gaps.size(); i++) {
+            out.printf("%8d %8d %8d%n", gaps.get(i)[0], gaps.get(i)[1], gaps.get(i)[2]);
+        }
+    }
+
+    private static final Comparator<Turn> BY_ROUND = new Comparator<Turn>() {
+        @Override
+        public int compare(Turn a, Turn b) {
+            return a.round - b.round;
+        }
+    };
+
+    private static final Comparator<Turn> BY_BYTECODES = new Comparator<Turn>() {
+        @Override
+        public int compare(Turn a, Turn b) {
+            return b.bytecodes - a.bytecodes;
+        }
+    };
+}
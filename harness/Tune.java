@@ -0,0 +1,260 @@
+package BasicExample.harness;
+
+import BasicExample.Params;
+import battlecode.common.*;
+
+import java.io.OutputStream;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+// Tunes the strategy constants in Params by playing our bot against itself offline, on every core.
+//
+// A candidate is one parameter vector.  A game is one scenario played by the candidate against the defaults, played
+// twice with the candidate on each side so neither starting position counts for more.  Each side of a game scores 1
+// for a win, 0.5 for a draw and 0 for a loss.  A side that hasn't won by the round limit is judged the way the real
+// engine breaks ties, the team with more archons wins and then the team with more archon health.
+//
+// The search is successive halving:
+//   1. start with the defaults and candidates - 1 random vectors, each value uniform between Params.MIN and MAX
+//   2. every candidate still in plays games more games, all candidates play the same seeds so luck evens out
+//   3. the better half by win rate stays in, games doubles, and we go back to 2 (the next rung) until one is left
+// so most of the matches go to the vectors that look good, and bad ones are dropped after a few games.
+//
+// Every game of a round of the search is handed to a fork join pool with one worker per core.  Every robot already
+// has its own copy of the bot (see IsolatedPlayer) so games share nothing and scale with the number of cores.  We
+// report the win rate of each candidate still in along with games/s, turns/s and how many cores' worth of work the
+// pool did, and at the end print the best vector ready to paste into Params.DEFAULTS.
+//
+// Usage: java -cp <battlecode.jar>:<classes> BasicExample.harness.Tune
+//            [-candidates N] [-games N] [-rounds N] [-seed N] [-threads N] [scenario ...]
+public class Tune {
+
+    public static void main(String[] args) {
+        int candidates = 16;
+        int games = 2;
+        int rounds = 500;
+        long seed = 1;
+        int threads = Runtime.getRuntime().availableProcessors();
+        List<String> names = new ArrayList<String>();
+
+        for (int i = 0; i < args.length; i++) {
+            if (args[i].equals("-candidates")) candidates = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-games")) games = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-rounds")) rounds = Integer.parseInt(args[++i]);
+            else if (args[i].equals("-seed")) seed = Long.parseLong(args[++i]);
+            else if (args[i].equals("-threads")) threads = Integer.parseInt(args[++i]);
+            else names.add(args[i]);
+        }
+        if (names.isEmpty()) names.addAll(Scenario.BUILT_IN.keySet());
+
+        PrintStream out = System.out;
+        Scenario[] scenarios = new Scenario[names.size()];
+        for (int i = 0; i < scenarios.length; i++) {
+            scenarios[i] = Scenario.BUILT_IN.get(names.get(i));
+            if (scenarios[i] == null) {
+                out.println("unknown scenario " + names.get(i) + ", pick from " + Scenario.BUILT_IN.keySet());
+                return;
+            }
+        }
+
+        // the defaults go in too so we can see whether anything beats them
+        Random random = new Random(seed);
+        List<Candidate> alive = new ArrayList<Candidate>();
+        alive.add(new Candidate(0, Params.DEFAULTS.clone()));
+        for (int c = 1; c < candidates; c++) {
+            double[] values = new double[Params.COUNT];
+            for (int p = 0; p < Params.COUNT; p++) {
+                values[p] = Params.MIN[p] + random.nextDouble() * (Params.MAX[p] - Params.MIN[p]);
+            }
+            alive.add(new Candidate(c, values));
+        }
+
+        out.printf("Tuning %d candidates on %s, %d rounds per game, %d threads%n", candidates, names, rounds, threads);
+        ForkJoinPool pool = new ForkJoinPool(threads);
+        // our robots print a lot, keep it out of the report for the whole run since games run on many threads
+        PrintStream savedErr = System.err;
+        System.setOut(new PrintStream(NULL_OUTPUT));
+        System.setErr(new PrintStream(NULL_OUTPUT));
+        try {
+            int played = 0;
+            for (int rung = 0; ; rung++) {
+                // every candidate plays the same new games, both sides of each
+                List<Game> batch = new ArrayList<Game>();
+                for (Candidate candidate : alive) {
+                    for (int g = played; g < played + games; g++) {
+                        Scenario scenario = scenarios[g % scenarios.length];
+                        batch.add(new Game(candidate, scenario, seed + g, rounds, Team.A));
+                        batch.add(new Game(candidate, scenario, seed + g, rounds, Team.B));
+                    }
+                }
+                Game[] all = batch.toArray(new Game[batch.size()]);
+                long start = System.nanoTime();
+                pool.invoke(new Games(all, 0, all.length));
+                long wall = System.nanoTime() - start;
+                played += games;
+                // the games only write their own fields, scores go to the candidates here once they are all done
+                for (Game game : all) {
+                    game.candidate.sides++;
+                    game.candidate.points += game.points;
+                }
+
+                Collections.sort(alive, BY_WIN_RATE);
+                report(out, rung, alive, all, wall);
+                if (alive.size() == 1) break;
+                alive = new ArrayList<Candidate>(alive.subList(0, (alive.size() + 1) / 2));
+                games *= 2;
+            }
+        } finally {
+            System.setOut(out);
+            System.setErr(savedErr);
+            pool.shutdown();
+        }
+
+        Candidate best = alive.get(0);
+        out.printf("%nBest is candidate %d, %.1f%% over %d sides against the defaults%n", best.index,
+                100 * best.winRate(), best.sides);
+        StringBuilder line = new StringBuilder("public static final double[] DEFAULTS = {");
+        for (int p = 0; p < Params.COUNT; p++) {
+            if (p > 0) line.append(", ");
+            line.append(String.format("%.3g", best.values[p]));
+        }
+        out.println(line.append("};"));
+    }
+
+    private static void report(PrintStream out, int rung, List<Candidate> alive, Game[] played, long wallNanos) {
+        long turns = 0;
+        long gameNanos = 0;
+        for (Game game : played) {
+            turns += game.turns;
+            gameNanos += game.nanos;
+        }
+        double seconds = wallNanos / 1e9;
+        out.printf("%nRung %d: %d candidates, %d sides in %.1fs, %.1f sides/s, %.0f turns/s, %.1f cores busy%n",
+                rung, alive.size(), played.length, seconds, played.length / seconds, turns / seconds,
+                (double) gameNanos / wallNanos);
+        out.printf("%-9s %8s %10s  %s%n", "candidate", "sides", "win rate", Arrays.toString(Params.NAMES));
+        for (Candidate candidate : alive) {
+            StringBuilder values = new StringBuilder();
+            for (int p = 0; p < Params.COUNT; p++) {
+                values.append(p == 0 ? "[" : ", ").append(String.format("%.3g", candidate.values[p]));
+            }
+            out.printf("%-9d %8d %9.1f%%  %s]%n", candidate.index, candidate.sides, 100 * candidate.winRate(), values);
+        }
+    }
+
+    // This method returns the winner of a world that may have reached the round limit, or null for a draw
+    private static Team judge(SimWorld world, Team winner) {
+        if (winner != null) return winner;
+        int archons = world.archonCount(Team.A) - world.archonCount(Team.B);
+        if (archons != 0) return archons > 0 ? Team.A : Team.B;
+        double health = 0;
+        for (int i = world.robots.size(); --i >= 0; ) {
+            SimRobot robot = world.robots.get(i);
+            if (!robot.alive || robot.type != RobotType.ARCHON) continue;
+            if (robot.team == Team.A) health += robot.health;
+            else if (robot.team == Team.B) health -= robot.health;
+        }
+        if (health != 0) return health > 0 ? Team.A : Team.B;
+        return null;
+    }
+
+    /////////////////////////////// Candidates and games ////////////////////////////////////////////
+
+    private static class Candidate {
+        final int index;
+        final double[] values;
+        // sides played and points scored, only touched between rounds of the search
+        int sides = 0;
+        double points = 0;
+
+        Candidate(int index, double[] values) {
+            this.index = index;
+            this.values = values;
+        }
+
+        double winRate() {
+            return sides == 0 ? 0 : points / sides;
+        }
+    }
+
+    private static final Comparator<Candidate> BY_WIN_RATE = new Comparator<Candidate>() {
+        @Override
+        public int compare(Candidate a, Candidate b) {
+            int byRate = Double.compare(b.winRate(), a.winRate());
+            return byRate != 0 ? byRate : a.index - b.index;
+        }
+    };
+
+    // One side of a game, the candidate plays as side and the defaults play the other team
+    private static class Game {
+        final Candidate candidate;
+        final Scenario scenario;
+        final long seed;
+        final int rounds;
+        final Team side;
+        // filled in when the game has been played
+        double points;
+        long turns;
+        long nanos;
+
+        Game(Candidate candidate, Scenario scenario, long seed, int rounds, Team side) {
+            this.candidate = candidate;
+            this.scenario = scenario;
+            this.seed = seed;
+            this.rounds = rounds;
+            this.side = side;
+        }
+
+        void play() {
+            long start = System.nanoTime();
+            double[] params = candidate.values;
+            SimWorld world = side == Team.A ? scenario.build(seed, params, null) : scenario.build(seed, null, params);
+            TurnStats stats = new TurnStats();
+            Team winner = judge(world, new Match(world, stats).play(rounds));
+            points = winner == null ? 0.5 : winner == side ? 1 : 0;
+            for (long t : stats.turns) turns += t;
+            nanos = System.nanoTime() - start;
+        }
+    }
+
+    // Plays games[from, to) by splitting the range in half until each task is a single game
+    private static class Games extends RecursiveAction {
+        private static final long serialVersionUID = 1L;
+        private final Game[] games;
+        private final int from;
+        private final int to;
+
+        Games(Game[] games, int from, int to) {
+            this.games = games;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from == 1) {
+                games[from].play();
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new Games(games, from, middle), new Games(games, middle, to));
+        }
+    }
+
+    private static final OutputStream NULL_OUTPUT = new OutputStream() {
+        @Override
+        public void write(int b) {
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) {
+        }
+    };
+}
@@ -0,0 +1,40 @@
+package BasicExample.harness;
+
+import battlecode.common.*;
+
+// The cost of every turn played, summed up per robot type
+public class TurnStats {
+
+    private static final int TYPES = RobotType.values().length;
+
+    public final long[] turns = new long[TYPES];
+    public final long[] nanos = new long[TYPES];
+    public final long[] bytecodes = new long[TYPES];
+    public final int[] maxBytecodes = new int[TYPES];
+    // turns whose simulated bytecodes went over the type's limit
+    public final long[] overLimit = new long[TYPES];
+
+    public void record(RobotType type, long elapsedNanos, int bytecodesUsed) {
+        int t = type.ordinal();
+        turns[t]++;
+        nanos[t] += elapsedNanos;
+        bytecodes[t] += bytecodesUsed;
+        if (bytecodesUsed > maxBytecodes[t]) maxBytecodes[t] = bytecodesUsed;
+        if (bytecodesUsed > type.bytecodeLimit) overLimit[t]++;
+    }
+
+    public double nanosPerTurn(RobotType type) {
+        int t = type.ordinal();
+        return turns[t] == 0 ? 0 : (double) nanos[t] / turns[t];
+    }
+
+    public void add(TurnStats other) {
+        for (int t = 0; t < TYPES; t++) {
+            turns[t] += other.turns[t];
+            nanos[t] += other.nanos[t];
+            bytecodes[t] += other.bytecodes[t];
+            maxBytecodes[t] = Math.max(maxBytecodes[t], other.maxBytecodes[t]);
+            overLimit[t] += other.overLimit[t];
+        }
+    }
+}